@@ -0,0 +1,18 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an {@link Inject} constructor parameter that is passed by the caller of a factory created with
+ * {@code InjectorContainer.createFactory} instead of being resolved from the container.
+ * <p>
+ * The factory method must declare the assisted parameters in the same order as the constructor.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Assisted {
+}
@@ -0,0 +1,20 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a method of a container-managed instance on the container's asynchronous executor instead of the calling
+ * thread.
+ * <p>
+ * The method must return {@code void} or a {@link java.util.concurrent.CompletableFuture}. A {@code void} method
+ * returns immediately; a future-returning method immediately returns a future that completes with the result of the
+ * future the method itself returned. The annotation may also be placed on the method of an implemented interface.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Async {
+}
@@ -0,0 +1,35 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps resolved instances of a {@link Component} in the container's bounded instance cache instead of creating
+ * a new one on every resolution.
+ * <p>
+ * Cached instances are evicted when they expire, when the cache exceeds its maximum size, or, in soft mode, when the
+ * garbage collector needs the memory. Evicted instances that implement {@link AutoCloseable} are closed.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Cached {
+    /**
+     * How long an instance stays cached after it was created. Zero or less keeps it until evicted by size.
+     */
+    long ttl() default 0;
+
+    /**
+     * The unit of {@link #ttl()}.
+     */
+    TimeUnit unit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * Whether the instance is only softly reachable from the cache, so it can be reclaimed under memory pressure.
+     * Instances reclaimed by the garbage collector are not closed.
+     */
+    boolean soft() default false;
+}
@@ -0,0 +1,19 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only registers the annotated class during package scanning if all the named classes can be loaded.
+ * Classes are given by name so the annotation itself can be read when they are absent.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConditionalOnClass {
+    /**
+     * The fully qualified names of the required classes.
+     */
+    String[] value();
+}
@@ -0,0 +1,23 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only registers the annotated class during package scanning if no other binding exists for the given types.
+ * Without explicit types, the interfaces of the annotated class are checked.
+ * <p>
+ * These conditions are evaluated after every other scanned class has been registered, so a fallback
+ * implementation steps aside for any regular one in the same scan.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConditionalOnMissingBean {
+    /**
+     * The types that must not be bound yet.
+     */
+    Class<?>[] value() default {};
+}
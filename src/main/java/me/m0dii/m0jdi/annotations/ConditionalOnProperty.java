@@ -0,0 +1,29 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Only registers the annotated class during package scanning if a configuration property matches.
+ * Without {@link #havingValue()}, any value other than {@code false} matches.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ConditionalOnProperty {
+    /**
+     * The configuration key to check.
+     */
+    String value();
+
+    /**
+     * The value the property must have. Compared ignoring case.
+     */
+    String havingValue() default "";
+
+    /**
+     * Whether the condition matches when the property is not set.
+     */
+    boolean matchIfMissing() default false;
+}
@@ -0,0 +1,26 @@
+package me.m0dii.m0jdi.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Injects a value from the container's configuration snapshot into an {@link Inject} constructor parameter
+ * or an {@link Injected} field, converted to the declared type.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+public @interface ConfigValue {
+    String NO_DEFAULT = "\u0000";
+
+    /**
+     * The configuration key to read.
+     */
+    String value();
+
+    /**
+     * The raw value used when the key is not present. Without a default, a missing key fails the injection.
+     */
+    String defaultValue() default NO_DEFAULT;
+}
@@ -0,0 +1,42 @@
+package me.m0dii.m0jdi.exception;
+
+import java.util.List;
+
+/**
+ * Thrown when constructing a type took longer than its construction budget and the container is configured to fail.
+ * <p>
+ * Besides the type, the exception carries the resolution path that led to the construction and the stack of the
+ * constructing thread at the moment the budget ran out.
+ * </p>
+ */
+public class ConstructionTimeoutException extends InjectionException {
+    private final Class<?> type;
+    private final List<Class<?>> resolutionPath;
+    private final StackTraceElement[] stuckStackTrace;
+
+    public ConstructionTimeoutException(String message, Class<?> type, List<Class<?>> resolutionPath,
+                                        StackTraceElement[] stuckStackTrace) {
+        super(message);
+        this.type = type;
+        this.resolutionPath = List.copyOf(resolutionPath);
+        this.stuckStackTrace = stuckStackTrace.clone();
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the types being constructed when the budget ran out, from the outermost to {@link #getType()}.
+     */
+    public List<Class<?>> getResolutionPath() {
+        return resolutionPath;
+    }
+
+    /**
+     * Returns the stack of the constructing thread captured when the budget ran out.
+     */
+    public StackTraceElement[] getStuckStackTrace() {
+        return stuckStackTrace.clone();
+    }
+}
@@ -0,0 +1,187 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.annotations.Async;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.intercept.MethodInterceptor;
+import me.m0dii.m0jdi.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.*;
+
+/**
+ * The interceptor behind {@link Async} methods.
+ * <p>
+ * Calls are handed to an executor, by default one virtual thread per call, and each bean type may have at most a
+ * fixed number of calls running at once. Calls over the limit wait on their own thread for a permit, never on the
+ * caller's. The default executor is created on the first call and shut down by {@link #close()}.
+ * </p>
+ */
+final class AsyncDispatcher implements MethodInterceptor, AutoCloseable {
+    private static final ClassValue<Boolean> DECLARES_ASYNC = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            boolean found = false;
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Method method : current.getDeclaredMethods()) {
+                    if (InjectorContainer.isAnnotated(method, Async.class)) {
+                        requireOverridable(method);
+                        found = true;
+                    }
+                }
+            }
+            return found;
+        }
+    };
+
+    private final ClassValue<Semaphore> permits = new ClassValue<>() {
+        @Override
+        protected Semaphore computeValue(Class<?> type) {
+            return new Semaphore(maxConcurrency);
+        }
+    };
+
+    private volatile int maxConcurrency;
+    private volatile Executor executor;
+    private ExecutorService ownExecutor;
+    private boolean closed;
+
+    AsyncDispatcher(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Checks whether the type or one of its superclasses has an {@link Async} method.
+     *
+     * @throws InjectionException If an {@link Async} method cannot be overridden by the generated subclass.
+     */
+    static boolean declaresAsync(Class<?> type) {
+        return DECLARES_ASYNC.get(type);
+    }
+
+    /**
+     * Checks whether the method is dispatched asynchronously.
+     *
+     * @throws InjectionException If the method is annotated but does not return {@code void} or a future.
+     */
+    static boolean matches(Method method) {
+        if (!InjectorContainer.isAnnotated(method, Async.class)) {
+            return false;
+        }
+
+        Class<?> returnType = method.getReturnType();
+        if (returnType != void.class && returnType != CompletableFuture.class) {
+            throw new InjectionException("@Async method " + method + " must return void or CompletableFuture.");
+        }
+        return true;
+    }
+
+    /**
+     * Only methods the generated subclass can override are dispatched, so any other {@link Async} method would
+     * silently run on the caller's thread.
+     */
+    private static void requireOverridable(Method method) {
+        int modifiers = method.getModifiers();
+        if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)
+                || !(Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers))) {
+            throw new InjectionException("@Async method " + method + " must be public or protected, " +
+                    "and neither static nor final.");
+        }
+    }
+
+    void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    synchronized void setExecutor(Executor executor) {
+        if (closed) {
+            throw new InjectionException("The container is closed.");
+        }
+        this.executor = executor;
+    }
+
+    @Override
+    public Object intercept(MethodInvocation invocation) {
+        Semaphore semaphore = permits.get(invocation.getTarget().getClass());
+
+        if (invocation.getMethod().getReturnType() == void.class) {
+            executor().execute(() -> {
+                try {
+                    call(invocation, semaphore);
+                } catch (Throwable e) {
+                    System.out.println("Warning: @Async method " + invocation.getMethod().getName() + " failed: " + e);
+                }
+            });
+            return null;
+        }
+
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        executor().execute(() -> {
+            try {
+                CompletableFuture<?> future = (CompletableFuture<?>) call(invocation, semaphore);
+                if (future == null) {
+                    result.complete(null);
+                } else {
+                    future.whenComplete((value, failure) -> {
+                        if (failure != null) {
+                            result.completeExceptionally(failure);
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+                }
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    private static Object call(MethodInvocation invocation, Semaphore semaphore) throws Throwable {
+        semaphore.acquire();
+        try {
+            return invocation.proceed();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    private Executor executor() {
+        Executor current = executor;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (closed) {
+                throw new RejectedExecutionException("The container is closed.");
+            }
+            if (executor == null) {
+                ownExecutor = Executors.newVirtualThreadPerTaskExecutor();
+                executor = ownExecutor;
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Stops accepting calls and waits for the dispatched ones to finish. An executor set by the user is not
+     * shut down.
+     */
+    @Override
+    public void close() {
+        ExecutorService own;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            own = ownExecutor;
+            executor = null;
+        }
+
+        if (own != null) {
+            own.close();
+        }
+    }
+}
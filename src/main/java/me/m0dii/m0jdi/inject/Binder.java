@@ -0,0 +1,79 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Registers the bindings declared by an {@link InjectorModule}.
+ */
+public final class Binder {
+    private final InjectorContainer container;
+
+    Binder(InjectorContainer container) {
+        this.container = container;
+    }
+
+    /**
+     * Starts a binding for the given type.
+     *
+     * @param type The type that is resolved through the binding.
+     * @param <T>  The bound type.
+     * @return The builder to complete the binding with.
+     */
+    public <T> BindingBuilder<T> bind(Class<T> type) {
+        return new BindingBuilder<>(Objects.requireNonNull(type, "type"));
+    }
+
+    /**
+     * Installs the bindings of another module.
+     *
+     * @param module The module to install.
+     */
+    public void install(InjectorModule module) {
+        module.configure(this);
+    }
+
+    /**
+     * Completes a binding started with {@link Binder#bind(Class)}.
+     *
+     * @param <T> The bound type.
+     */
+    public final class BindingBuilder<T> {
+        private final Class<T> type;
+
+        private BindingBuilder(Class<T> type) {
+            this.type = type;
+        }
+
+        /**
+         * Resolves the type by resolving the implementation class.
+         * Implementations without {@code @Component} or {@code @Singleton} are created anew on every resolution.
+         *
+         * @param implementation The implementation class.
+         */
+        public void to(Class<? extends T> implementation) {
+            container.bindImplementation(type, Objects.requireNonNull(implementation, "implementation"));
+        }
+
+        /**
+         * Resolves the type to a prebuilt instance, which is treated as a singleton.
+         *
+         * @param instance The instance to return.
+         */
+        public void toInstance(T instance) {
+            container.bindInstance(type, Objects.requireNonNull(instance, "instance"));
+        }
+
+        /**
+         * Resolves the type by calling the supplier, without any reflection.
+         * If the supplier returns {@code null}, the resolution fails with an {@link InjectionException}.
+         *
+         * @param supplier The supplier to call on every resolution.
+         */
+        public void toSupplier(Supplier<? extends T> supplier) {
+            container.bindSupplier(type, Objects.requireNonNull(supplier, "supplier"));
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package me.m0dii.m0jdi.inject;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records how long each node of the dependency graph takes to construct while an {@link InjectorContainer}
+ * is resolving types.
+ * <p>
+ * A node is entered when the container starts building a type and exited once the instance exists. The time spent
+ * inside a node minus the time spent building its dependencies is the node's self time. Every type resolved while
+ * another one is being built becomes a dependency of it, which gives the dependency DAG of the boot.
+ * </p>
+ * <p>
+ * The profiler is only created through {@link InjectorContainer#enableProfiling()}; containers without it
+ * never call into this class.
+ * </p>
+ */
+public class BootProfiler {
+    private final Map<Class<?>, Node> nodes = new ConcurrentHashMap<>();
+    private final Map<ClassLoader, Set<Class<?>>> typesByLoader = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    BootProfiler() {
+    }
+
+    void enter(Class<?> type) {
+        reference(type);
+        frames.get().push(new Frame(node(type), System.nanoTime()));
+    }
+
+    void exit() {
+        Deque<Frame> stack = frames.get();
+        Frame frame = stack.pop();
+        long total = System.nanoTime() - frame.start;
+        frame.node.record(total - frame.childNanos, total);
+
+        Frame parent = stack.peek();
+        if (parent != null) {
+            parent.childNanos += total;
+        }
+    }
+
+    void reference(Class<?> type) {
+        Frame parent = frames.get().peek();
+        Node node = node(type);
+        if (parent != null && parent.node.addDependency(node.type)) {
+            node.addDependent(parent.node.type);
+        }
+    }
+
+    /**
+     * Drops the nodes of the loader's types and the edges pointing to them, visiting only those nodes' neighbours.
+     */
+    void forget(ClassLoader classLoader) {
+        Set<Class<?>> types = typesByLoader.remove(classLoader);
+        if (types == null) {
+            return;
+        }
+
+        for (Class<?> type : types) {
+            Node node = nodes.remove(type);
+            if (node == null) {
+                continue;
+            }
+            for (Class<?> dependent : node.getDependents()) {
+                Node neighbour = nodes.get(dependent);
+                if (neighbour != null) {
+                    neighbour.removeDependency(type);
+                }
+            }
+            for (Class<?> dependency : node.getDependencies()) {
+                Node neighbour = nodes.get(dependency);
+                if (neighbour != null) {
+                    neighbour.removeDependent(type);
+                }
+            }
+        }
+    }
+
+    private Node node(Class<?> type) {
+        return nodes.computeIfAbsent(type, key -> {
+            ClassLoader classLoader = key.getClassLoader();
+            if (classLoader != null) {
+                typesByLoader.computeIfAbsent(classLoader, loader -> ConcurrentHashMap.newKeySet()).add(key);
+            }
+            return new Node(key);
+        });
+    }
+
+    /**
+     * Returns every recorded node, ordered by descending total time.
+     *
+     * @return The recorded nodes.
+     */
+    public List<Node> getNodes() {
+        List<Node> result = new ArrayList<>(nodes.values());
+        result.sort(Comparator.comparingLong(Node::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * Returns the chain of constructions with the largest summed self time.
+     * <p>
+     * Each node costs its own self time plus the most expensive of its dependencies, so the returned path is the
+     * sequence of constructors that bounds the boot even if every independent branch were built in parallel.
+     * </p>
+     *
+     * @return The critical path, starting at the root that was resolved first on it.
+     */
+    public List<Node> getCriticalPath() {
+        Map<Class<?>, Long> costs = new HashMap<>();
+        Node start = null;
+        long startCost = -1;
+        for (Node node : nodes.values()) {
+            long cost = cost(node, costs, new HashSet<>());
+            if (cost > startCost) {
+                start = node;
+                startCost = cost;
+            }
+        }
+
+        List<Node> path = new ArrayList<>();
+        Set<Class<?>> visited = new HashSet<>();
+        Node current = start;
+        while (current != null && visited.add(current.type)) {
+            path.add(current);
+
+            Node next = null;
+            for (Class<?> dependency : current.getDependencies()) {
+                Node candidate = nodes.get(dependency);
+                if (next == null || costs.getOrDefault(candidate.type, 0L) > costs.getOrDefault(next.type, 0L)) {
+                    next = candidate;
+                }
+            }
+            current = next;
+        }
+
+        return path;
+    }
+
+    private long cost(Node node, Map<Class<?>, Long> costs, Set<Class<?>> visiting) {
+        Long known = costs.get(node.type);
+        if (known != null) {
+            return known;
+        }
+
+        if (!visiting.add(node.type)) {
+            return 0;
+        }
+
+        long slowest = 0;
+        for (Class<?> dependency : node.getDependencies()) {
+            slowest = Math.max(slowest, cost(nodes.get(dependency), costs, visiting));
+        }
+
+        long cost = node.getSelfNanos() + slowest;
+        costs.put(node.type, cost);
+        return cost;
+    }
+
+    /**
+     * Returns the nodes that spent the most time in their own constructors.
+     *
+     * @param limit The maximum number of nodes to return.
+     * @return Up to {@code limit} nodes, ordered by descending self time.
+     */
+    public List<Node> getTopSelfTime(int limit) {
+        return nodes.values().stream()
+                .sorted(Comparator.comparingLong(Node::getSelfNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Exports the recorded dependency graph in Graphviz DOT format.
+     * Nodes on the critical path are drawn in red.
+     *
+     * @return The DOT source of the graph.
+     */
+    public String toDot() {
+        Set<Class<?>> critical = new HashSet<>();
+        getCriticalPath().forEach(node -> critical.add(node.type));
+
+        StringBuilder dot = new StringBuilder("digraph boot {\n");
+        for (Node node : getNodes()) {
+            dot.append("  \"").append(node.type.getName()).append("\" [label=\"")
+                    .append(node.type.getSimpleName()).append("\\n")
+                    .append(formatMillis(node.getSelfNanos())).append(" self / ")
+                    .append(formatMillis(node.getTotalNanos())).append(" total\"");
+            if (critical.contains(node.type)) {
+                dot.append(", color=red");
+            }
+            dot.append("];\n");
+
+            for (Class<?> dependency : node.getDependencies()) {
+                dot.append("  \"").append(node.type.getName()).append("\" -> \"")
+                        .append(dependency.getName()).append("\";\n");
+            }
+        }
+        return dot.append("}\n").toString();
+    }
+
+    /**
+     * Exports the recorded dependency graph and its critical path as JSON.
+     *
+     * @return The JSON document.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"nodes\":[");
+        Iterator<Node> iterator = getNodes().iterator();
+        while (iterator.hasNext()) {
+            Node node = iterator.next();
+            json.append("{\"type\":\"").append(node.type.getName())
+                    .append("\",\"constructions\":").append(node.getConstructions())
+                    .append(",\"selfNanos\":").append(node.getSelfNanos())
+                    .append(",\"totalNanos\":").append(node.getTotalNanos())
+                    .append(",\"dependencies\":[");
+            appendNames(json, node.getDependencies());
+            json.append("]}");
+            if (iterator.hasNext()) {
+                json.append(',');
+            }
+        }
+
+        json.append("],\"criticalPath\":[");
+        appendNames(json, getCriticalPath().stream().<Class<?>>map(Node::getType).toList());
+        return json.append("]}").toString();
+    }
+
+    private static void appendNames(StringBuilder json, Collection<Class<?>> types) {
+        Iterator<Class<?>> iterator = types.iterator();
+        while (iterator.hasNext()) {
+            json.append('"').append(iterator.next().getName()).append('"');
+            if (iterator.hasNext()) {
+                json.append(',');
+            }
+        }
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f ms", nanos / 1_000_000.0);
+    }
+
+    /**
+     * A single type in the recorded dependency graph.
+     */
+    public static final class Node {
+        private final Class<?> type;
+        private final Set<Class<?>> dependencies = new LinkedHashSet<>();
+        private final Set<Class<?>> dependents = new HashSet<>();
+        private long selfNanos;
+        private long totalNanos;
+        private int constructions;
+
+        private Node(Class<?> type) {
+            this.type = type;
+        }
+
+        private synchronized void record(long self, long total) {
+            selfNanos += self;
+            totalNanos += total;
+            constructions++;
+        }
+
+        private synchronized boolean addDependency(Class<?> dependency) {
+            return dependency != type && dependencies.add(dependency);
+        }
+
+        private synchronized void removeDependency(Class<?> dependency) {
+            dependencies.remove(dependency);
+        }
+
+        private synchronized void addDependent(Class<?> dependent) {
+            dependents.add(dependent);
+        }
+
+        private synchronized void removeDependent(Class<?> dependent) {
+            dependents.remove(dependent);
+        }
+
+        private synchronized Set<Class<?>> getDependents() {
+            return Set.copyOf(dependents);
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public synchronized Set<Class<?>> getDependencies() {
+            return Set.copyOf(dependencies);
+        }
+
+        public synchronized long getSelfNanos() {
+            return selfNanos;
+        }
+
+        public synchronized long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public synchronized int getConstructions() {
+            return constructions;
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + " (" + formatMillis(getSelfNanos()) + " self, " +
+                    formatMillis(getTotalNanos()) + " total)";
+        }
+    }
+
+    private static final class Frame {
+        private final Node node;
+        private final long start;
+        private long childNanos;
+
+        private Frame(Node node, long start) {
+            this.node = node;
+            this.start = start;
+        }
+    }
+}
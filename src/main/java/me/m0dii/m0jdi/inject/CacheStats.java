@@ -0,0 +1,16 @@
+package me.m0dii.m0jdi.inject;
+
+/**
+ * A point-in-time view of the counters of a container's instance cache.
+ *
+ * @param hits      Resolutions served from the cache.
+ * @param misses    Resolutions that had to construct a new instance.
+ * @param evictions Instances removed because they expired, exceeded the size bound, were reclaimed or evicted manually.
+ * @param size      Instances currently cached.
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
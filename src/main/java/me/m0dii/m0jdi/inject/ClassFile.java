@@ -0,0 +1,307 @@
+package me.m0dii.m0jdi.inject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A minimal class file writer for the straight-line classes the container generates.
+ * <p>
+ * Generated methods never branch, so no stack map frames are written.
+ * </p>
+ */
+final class ClassFile {
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_PRIVATE = 0x0002;
+    static final int ACC_PROTECTED = 0x0004;
+    static final int ACC_STATIC = 0x0008;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    static final int ALOAD_0 = 0x2A;
+    static final int ALOAD_1 = 0x2B;
+    static final int ASTORE_0 = 0x4B;
+    static final int AALOAD = 0x32;
+    static final int LDC_W = 0x13;
+    static final int CHECKCAST = 0xC0;
+    static final int GETSTATIC = 0xB2;
+    static final int PUTSTATIC = 0xB3;
+    static final int GETFIELD = 0xB4;
+    static final int PUTFIELD = 0xB5;
+    static final int INVOKEVIRTUAL = 0xB6;
+    static final int INVOKESPECIAL = 0xB7;
+    static final int INVOKESTATIC = 0xB8;
+    static final int RETURN = 0xB1;
+
+    static final String HANDLE = "java/lang/invoke/MethodHandle";
+    static final String HANDLE_DESCRIPTOR = "L" + HANDLE + ";";
+
+    final ConstantPool pool = new ConstantPool();
+
+    private final int thisClass;
+    private final int superClass;
+    private final int[] interfaces;
+    private final int codeAttribute;
+
+    private final ByteArrayOutputStream fields = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+    private int fieldCount;
+    private int methodCount;
+
+    ClassFile(String name, String superName, String... interfaceNames) {
+        thisClass = pool.classRef(name);
+        superClass = pool.classRef(superName);
+        interfaces = new int[interfaceNames.length];
+        for (int i = 0; i < interfaceNames.length; i++) {
+            interfaces[i] = pool.classRef(interfaceNames[i]);
+        }
+        codeAttribute = pool.utf8("Code");
+    }
+
+    static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    void field(int access, String name, String descriptor) {
+        write(fields, out -> {
+            out.writeShort(access);
+            out.writeShort(pool.utf8(name));
+            out.writeShort(pool.utf8(descriptor));
+            out.writeShort(0);
+        });
+        fieldCount++;
+    }
+
+    void method(int access, String name, String descriptor, Code code) {
+        write(methods, out -> {
+            out.writeShort(access);
+            out.writeShort(pool.utf8(name));
+            out.writeShort(pool.utf8(descriptor));
+            out.writeShort(1);
+            out.writeShort(codeAttribute);
+            out.writeInt(12 + code.size());
+            out.writeShort(code.maxStack);
+            out.writeShort(code.maxLocals);
+            out.writeInt(code.size());
+            code.writeTo(out);
+            out.writeShort(0);
+            out.writeShort(0);
+        });
+        methodCount++;
+    }
+
+    byte[] toByteArray() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(bytes, out -> {
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(61);
+            pool.write(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(interfaces.length);
+            for (int iface : interfaces) {
+                out.writeShort(iface);
+            }
+            out.writeShort(fieldCount);
+            fields.writeTo(out);
+            out.writeShort(methodCount);
+            methods.writeTo(out);
+            out.writeShort(0);
+        });
+        return bytes.toByteArray();
+    }
+
+    static int slotSize(Class<?> type) {
+        if (type == void.class) {
+            return 0;
+        }
+        return type == long.class || type == double.class ? 2 : 1;
+    }
+
+    static int slotSize(Class<?>[] types) {
+        int size = 0;
+        for (Class<?> type : types) {
+            size += slotSize(type);
+        }
+        return size;
+    }
+
+    private static int loadOpcode(Class<?> type) {
+        if (type == long.class) {
+            return 0x16;
+        }
+        if (type == float.class) {
+            return 0x17;
+        }
+        if (type == double.class) {
+            return 0x18;
+        }
+        return type.isPrimitive() ? 0x15 : 0x19;
+    }
+
+    private static int returnOpcode(Class<?> type) {
+        if (type == void.class) {
+            return RETURN;
+        }
+        if (type == long.class) {
+            return 0xAD;
+        }
+        if (type == float.class) {
+            return 0xAE;
+        }
+        if (type == double.class) {
+            return 0xAF;
+        }
+        return type.isPrimitive() ? 0xAC : 0xB0;
+    }
+
+    private static void write(ByteArrayOutputStream target, Writer writer) {
+        try (DataOutputStream out = new DataOutputStream(target)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * The bytecode of a single method.
+     */
+    static final class Code extends ByteArrayOutputStream {
+        private final int maxStack;
+        private final int maxLocals;
+
+        Code(int maxStack, int maxLocals) {
+            this.maxStack = maxStack;
+            this.maxLocals = maxLocals;
+        }
+
+        Code op(int opcode) {
+            write(opcode);
+            return this;
+        }
+
+        Code op(int opcode, int index) {
+            write(opcode);
+            write(index >>> 8);
+            write(index);
+            return this;
+        }
+
+        Code intConstant(int value) {
+            if (value <= 5) {
+                return op(0x03 + value);
+            }
+            if (value <= Byte.MAX_VALUE) {
+                write(0x10);
+                write(value);
+                return this;
+            }
+            return op(0x11, value);
+        }
+
+        /**
+         * Loads the given parameters from consecutive local variable slots, starting at {@code slot}.
+         */
+        Code loadArguments(Class<?>[] parameters, int slot) {
+            for (Class<?> parameter : parameters) {
+                write(loadOpcode(parameter));
+                write(slot);
+                slot += slotSize(parameter);
+            }
+            return this;
+        }
+
+        Code returnValue(Class<?> type) {
+            return op(returnOpcode(type));
+        }
+    }
+
+    static final class ConstantPool {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.writeByte(1);
+                out.writeUTF(value);
+            });
+        }
+
+        int string(String value) {
+            int utf8 = utf8(value);
+            return entry("S" + value, () -> {
+                out.writeByte(8);
+                out.writeShort(utf8);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return entry("C" + internalName, () -> {
+                out.writeByte(7);
+                out.writeShort(name);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerClass = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+                out.writeByte(12);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return entry(tag + owner + "." + name + ":" + descriptor, () -> {
+                out.writeByte(tag);
+                out.writeShort(ownerClass);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        private int entry(String key, Entry writer) {
+            Integer existing = indexes.get(key);
+            if (existing != null) {
+                return existing;
+            }
+
+            try {
+                writer.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            indexes.put(key, count);
+            return count++;
+        }
+
+        private void write(DataOutputStream target) throws IOException {
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+
+        @FunctionalInterface
+        private interface Entry {
+            void write() throws IOException;
+        }
+    }
+}
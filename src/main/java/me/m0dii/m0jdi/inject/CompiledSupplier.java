@@ -0,0 +1,38 @@
+package me.m0dii.m0jdi.inject;
+
+import java.util.function.Supplier;
+
+/**
+ * A supplier returned by {@link InjectorContainer#compile(Class)}.
+ * <p>
+ * Each call invokes a generated {@link Construction} whose single method is an {@code invokeExact} on the fused
+ * construction handle of the whole graph, so no lookups happen after compilation.
+ * </p>
+ */
+final class CompiledSupplier<T> implements Supplier<T> {
+    private final Class<T> type;
+    private final Construction construction;
+
+    CompiledSupplier(Class<T> type, Construction construction) {
+        this.type = type;
+        this.construction = construction;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        return (T) construction.construct();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledSupplier[" + type.getName() + "]";
+    }
+
+    /**
+     * Implemented by {@link HandleBridges} with the construction handle of a compiled graph.
+     */
+    interface Construction {
+        Object construct();
+    }
+}
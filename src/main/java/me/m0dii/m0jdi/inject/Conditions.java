@@ -0,0 +1,64 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.annotations.ConditionalOnClass;
+import me.m0dii.m0jdi.annotations.ConditionalOnMissingBean;
+import me.m0dii.m0jdi.annotations.ConditionalOnProperty;
+
+/**
+ * Evaluates the conditional annotations of scanned classes.
+ * Only annotations are read here, so a class that fails its conditions is never instantiated.
+ */
+final class Conditions {
+    private Conditions() {
+    }
+
+    /**
+     * Checks the conditions that depend only on the environment: configuration properties and the classpath.
+     */
+    static boolean matchesEnvironment(Class<?> clazz, ConfigurationSnapshot configuration) {
+        ConditionalOnProperty onProperty = clazz.getAnnotation(ConditionalOnProperty.class);
+        if (onProperty != null && !matches(onProperty, configuration)) {
+            return false;
+        }
+
+        ConditionalOnClass onClass = clazz.getAnnotation(ConditionalOnClass.class);
+        if (onClass != null) {
+            for (String className : onClass.value()) {
+                if (!isPresent(className, clazz.getClassLoader())) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the types that must be unbound for a {@link ConditionalOnMissingBean} class to be registered.
+     */
+    static Class<?>[] missingBeanTypes(Class<?> clazz) {
+        Class<?>[] types = clazz.getAnnotation(ConditionalOnMissingBean.class).value();
+        return types.length > 0 ? types : clazz.getInterfaces();
+    }
+
+    private static boolean matches(ConditionalOnProperty condition, ConfigurationSnapshot configuration) {
+        String value = configuration.getRaw(condition.value());
+        if (value == null) {
+            return condition.matchIfMissing();
+        }
+
+        if (condition.havingValue().isEmpty()) {
+            return !value.trim().equalsIgnoreCase("false");
+        }
+        return value.trim().equalsIgnoreCase(condition.havingValue());
+    }
+
+    private static boolean isPresent(String className, ClassLoader classLoader) {
+        try {
+            Class.forName(className, false, classLoader);
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.annotations.ConfigValue;
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+
+/**
+ * Compiles {@link ConfigValue} injection points against a {@link ConfigurationSnapshot}.
+ * <p>
+ * The value is looked up and converted once, when the injection point is compiled. Field writers are generated
+ * around the field's setter handle with the value bound to it, so primitive values are stored unboxed and injecting
+ * a configuration value is a single field store.
+ * </p>
+ */
+final class ConfigValuePoint {
+    private ConfigValuePoint() {
+    }
+
+    /**
+     * Implemented by {@link HandleBridges} with the setter of a field, bound to its value.
+     */
+    interface FieldWriter {
+        void write(Object target);
+    }
+
+    static Object argument(Parameter parameter, ConfigurationSnapshot configuration) {
+        ConfigValue annotation = parameter.getAnnotation(ConfigValue.class);
+        return lookup(annotation, parameter.getType(), configuration,
+                "parameter " + parameter.getName() + " of " + parameter.getDeclaringExecutable().getDeclaringClass().getName());
+    }
+
+    static FieldWriter field(Field field, ConfigurationSnapshot configuration) {
+        ConfigValue annotation = field.getAnnotation(ConfigValue.class);
+        Object value = lookup(annotation, field.getType(), configuration,
+                "field " + field.getName() + " of " + field.getDeclaringClass().getName());
+
+        MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            setter = MethodHandles.lookup().unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new InjectionException("Cannot access field " + field.getName() + " of " + field.getDeclaringClass().getName(), e);
+        }
+
+        MethodHandle write = MethodHandles.insertArguments(setter, 1, value);
+        return HandleBridges.implement(FieldWriter.class, m -> write);
+    }
+
+    private static Object lookup(ConfigValue annotation, Class<?> type, ConfigurationSnapshot configuration, String injectionPoint) {
+        String key = annotation.value();
+
+        Object value = configuration.get(key, type);
+        if (value != null) {
+            return value;
+        }
+
+        if (ConfigValue.NO_DEFAULT.equals(annotation.defaultValue())) {
+            throw new InjectionException("Missing configuration value '" + key + "' required by " + injectionPoint);
+        }
+
+        return ConfigurationSnapshot.convert(annotation.defaultValue(), type, key);
+    }
+}
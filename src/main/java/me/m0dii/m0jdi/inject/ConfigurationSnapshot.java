@@ -0,0 +1,218 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * An immutable view of configuration properties, loaded once and shared by every injection point of a container.
+ * <p>
+ * Raw values are kept as strings. Each value is converted at most once per target type, and the converted value
+ * is cached, so repeated lookups never re-parse.
+ * </p>
+ */
+public final class ConfigurationSnapshot {
+    private static final ConfigurationSnapshot EMPTY = new ConfigurationSnapshot(Map.of());
+
+    private final Map<String, String> values;
+    private final Map<Class<?>, Map<String, Object>> converted = new ConcurrentHashMap<>();
+
+    private ConfigurationSnapshot(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns a snapshot without any properties.
+     *
+     * @return The empty snapshot.
+     */
+    public static ConfigurationSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a snapshot from a copy of the given map.
+     *
+     * @param values The raw property values.
+     * @return The snapshot.
+     */
+    public static ConfigurationSnapshot of(Map<String, String> values) {
+        return new ConfigurationSnapshot(Map.copyOf(values));
+    }
+
+    /**
+     * Creates a snapshot from a copy of the given properties.
+     *
+     * @param properties The properties to copy.
+     * @return The snapshot.
+     */
+    public static ConfigurationSnapshot of(Properties properties) {
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name));
+        }
+        return new ConfigurationSnapshot(Map.copyOf(values));
+    }
+
+    /**
+     * Loads a snapshot from a {@code .properties} file.
+     *
+     * @param file The file to read.
+     * @return The snapshot.
+     * @throws InjectionException If the file cannot be read.
+     */
+    public static ConfigurationSnapshot load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return of(properties);
+        } catch (IOException e) {
+            throw new InjectionException("Failed to load configuration from " + file, e);
+        }
+    }
+
+    /**
+     * Returns the raw value of a property.
+     *
+     * @param key The property key.
+     * @return The raw value, or {@code null} if the key is not present.
+     */
+    public String getRaw(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Checks whether a property is present.
+     *
+     * @param key The property key.
+     * @return {@code true} if the snapshot contains the key.
+     */
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * Returns a property converted to the given type.
+     * <p>
+     * Supported types are {@link String}, primitives and their wrappers, enums and {@link Duration}.
+     * </p>
+     *
+     * @param key  The property key.
+     * @param type The type to convert to.
+     * @param <T>  The type to convert to.
+     * @return The converted value, or {@code null} if the key is not present.
+     * @throws InjectionException If the type is unsupported or the value cannot be converted.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Class<T> type) {
+        String raw = values.get(key);
+        if (raw == null) {
+            return null;
+        }
+
+        return (T) converted.computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(key, k -> convert(raw, type, k));
+    }
+
+    /**
+     * Returns the property keys in this snapshot.
+     *
+     * @return The keys.
+     */
+    public Set<String> keys() {
+        return values.keySet();
+    }
+
+    void forget(Class<?> type) {
+        converted.remove(type);
+    }
+
+    static Object convert(String raw, Class<?> type, String key) {
+        try {
+            return converter(type).apply(raw.trim());
+        } catch (InjectionException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InjectionException("Cannot convert configuration value '" + key + "'=" + raw + " to " + type.getName(), e);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Function<String, ?> converter(Class<?> type) {
+        if (type == String.class) {
+            return Function.identity();
+        }
+        if (type == int.class || type == Integer.class) {
+            return Integer::valueOf;
+        }
+        if (type == long.class || type == Long.class) {
+            return Long::valueOf;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return ConfigurationSnapshot::parseBoolean;
+        }
+        if (type == double.class || type == Double.class) {
+            return Double::valueOf;
+        }
+        if (type == float.class || type == Float.class) {
+            return Float::valueOf;
+        }
+        if (type == short.class || type == Short.class) {
+            return Short::valueOf;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return Byte::valueOf;
+        }
+        if (type == char.class || type == Character.class) {
+            return raw -> {
+                if (raw.length() != 1) {
+                    throw new IllegalArgumentException(raw);
+                }
+                return raw.charAt(0);
+            };
+        }
+        if (type == Duration.class) {
+            return ConfigurationSnapshot::parseDuration;
+        }
+        if (type.isEnum()) {
+            return raw -> Enum.valueOf((Class<? extends Enum>) type, raw);
+        }
+
+        throw new InjectionException("Unsupported configuration value type " + type.getName());
+    }
+
+    private static Boolean parseBoolean(String raw) {
+        if (raw.equalsIgnoreCase("true")) {
+            return Boolean.TRUE;
+        }
+        if (raw.equalsIgnoreCase("false")) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException(raw);
+    }
+
+    private static Duration parseDuration(String raw) {
+        if (raw.startsWith("P") || raw.startsWith("p")) {
+            return Duration.parse(raw);
+        }
+        if (raw.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(raw.substring(0, raw.length() - 2)));
+        }
+
+        long amount = Long.parseLong(raw.substring(0, raw.length() - 1));
+        return switch (raw.charAt(raw.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            case 'd' -> Duration.ofDays(amount);
+            default -> throw new IllegalArgumentException(raw);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.ConstructionTimeoutException;
+
+/**
+ * What the container does when a construction exceeds its time budget.
+ */
+public enum ConstructionTimeoutPolicy {
+    /**
+     * Interrupts the constructing thread and throws a {@link ConstructionTimeoutException} from the construction as
+     * soon as it returns control. A constructor that ignores interrupts still runs to completion first.
+     */
+    FAIL,
+
+    /**
+     * Logs a report with the resolution path and the stack of the constructing thread, and lets the construction
+     * continue.
+     */
+    LOG
+}
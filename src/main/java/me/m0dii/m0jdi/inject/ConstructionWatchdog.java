@@ -0,0 +1,199 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.ConstructionTimeoutException;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Times constructions against their budgets and reports the ones that run over.
+ * <p>
+ * Every construction with a budget schedules a check on a single daemon thread, which is cancelled when the
+ * construction finishes in time. If the check runs first, it captures the stack of the constructing thread and,
+ * depending on the {@link ConstructionTimeoutPolicy}, logs a report or interrupts the thread so the construction fails.
+ * The longest construction time of every type is kept, with or without a budget, and also after the watchdog is
+ * closed, when budgets are no longer enforced.
+ * </p>
+ */
+final class ConstructionWatchdog implements AutoCloseable {
+    private final ThreadLocal<Deque<Watch>> watches = ThreadLocal.withInitial(ArrayDeque::new);
+    private final Map<Class<?>, Long> budgets = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Long> longest = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    private volatile long defaultBudgetNanos;
+    private volatile ConstructionTimeoutPolicy policy;
+
+    ConstructionWatchdog(Duration defaultBudget, ConstructionTimeoutPolicy policy) {
+        this.defaultBudgetNanos = defaultBudget.toNanos();
+        this.policy = policy;
+        this.scheduler = new ScheduledThreadPoolExecutor(1,
+                runnable -> Thread.ofPlatform().daemon().name("m0jdi-watchdog").unstarted(runnable));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    void setDefaultBudget(Duration budget, ConstructionTimeoutPolicy policy) {
+        this.defaultBudgetNanos = budget.toNanos();
+        this.policy = policy;
+    }
+
+    void setBudget(Class<?> type, Duration budget) {
+        budgets.put(type, budget.toNanos());
+    }
+
+    Map<Class<?>, Duration> constructionTimes() {
+        Map<Class<?>, Duration> times = new HashMap<>();
+        longest.forEach((type, nanos) -> times.put(type, Duration.ofNanos(nanos)));
+        return times;
+    }
+
+    void forget(Set<Class<?>> types) {
+        types.forEach(type -> {
+            budgets.remove(type);
+            longest.remove(type);
+        });
+    }
+
+    Watch start(Class<?> type) {
+        Deque<Watch> active = watches.get();
+        Watch watch = new Watch(type, active.peek(), Thread.currentThread(), System.nanoTime());
+
+        // Once closed, constructions are still timed but no longer checked against their budgets
+        long budget = budgets.getOrDefault(type, defaultBudgetNanos);
+        if (budget > 0 && !scheduler.isShutdown()) {
+            watch.budgetNanos = budget;
+            watch.policy = policy;
+            try {
+                watch.check = scheduler.schedule(watch::expire, budget, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                // Closed concurrently
+            }
+        }
+
+        if (watch.parent != null) {
+            watch.parent.child = watch;
+        }
+        active.push(watch);
+        return watch;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * One running construction. Watches of nested constructions on the same thread are linked, so a check that
+     * expires can report the innermost construction, which is the one actually stuck.
+     */
+    final class Watch {
+        private final Class<?> type;
+        private final Watch parent;
+        private final Thread thread;
+        private final long start;
+        private volatile Watch child;
+        private long budgetNanos;
+        private ConstructionTimeoutPolicy policy;
+        private ScheduledFuture<?> check;
+        private boolean done;
+        private volatile ConstructionTimeoutException timeout;
+
+        private Watch(Class<?> type, Watch parent, Thread thread, long start) {
+            this.type = type;
+            this.parent = parent;
+            this.thread = thread;
+            this.start = start;
+        }
+
+        private synchronized void expire() {
+            if (done || reported()) {
+                return;
+            }
+
+            Watch stuck = this;
+            for (Watch next = stuck.child; next != null; next = next.child) {
+                stuck = next;
+            }
+
+            List<Class<?>> resolutionPath = new ArrayList<>();
+            for (Watch current = stuck; current != null; current = current.parent) {
+                resolutionPath.addFirst(current.type);
+            }
+
+            StackTraceElement[] stackTrace = thread.getStackTrace();
+            String report = report(stuck.type, resolutionPath, stackTrace);
+            timeout = new ConstructionTimeoutException(report, stuck.type, resolutionPath, stackTrace);
+
+            if (policy == ConstructionTimeoutPolicy.FAIL) {
+                thread.interrupt();
+            } else {
+                System.out.println("Warning: " + report);
+            }
+        }
+
+        /**
+         * Checks whether an enclosing or nested construction already reported this stuck thread.
+         */
+        private boolean reported() {
+            for (Watch current = parent; current != null; current = current.parent) {
+                if (current.timeout != null) {
+                    return true;
+                }
+            }
+            for (Watch current = child; current != null; current = current.child) {
+                if (current.timeout != null) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Ends the watch on the constructing thread.
+         *
+         * @return The timeout to throw if the budget ran out and the policy is to fail, otherwise {@code null}.
+         */
+        ConstructionTimeoutException finish() {
+            watches.get().pop();
+            if (parent != null) {
+                parent.child = null;
+            }
+            longest.merge(type, System.nanoTime() - start, Math::max);
+
+            ConstructionTimeoutException expired;
+            synchronized (this) {
+                done = true;
+                expired = timeout;
+            }
+
+            if (expired == null) {
+                if (check != null) {
+                    check.cancel(false);
+                }
+                return null;
+            }
+
+            if (policy == ConstructionTimeoutPolicy.FAIL) {
+                Thread.interrupted();
+                return expired;
+            }
+            return null;
+        }
+
+        private String report(Class<?> stuck, List<Class<?>> resolutionPath, StackTraceElement[] stackTrace) {
+            StringBuilder report = new StringBuilder("Construction of ").append(type.getName())
+                    .append(" exceeded its budget of ").append(TimeUnit.NANOSECONDS.toMillis(budgetNanos)).append(" ms");
+            if (stuck != type) {
+                report.append(" while constructing ").append(stuck.getName());
+            }
+            report.append(System.lineSeparator()).append("  Resolution path: ")
+                    .append(String.join(" -> ", resolutionPath.stream().map(Class::getSimpleName).toList()))
+                    .append(System.lineSeparator()).append("  Stuck at:");
+            for (StackTraceElement element : stackTrace) {
+                report.append(System.lineSeparator()).append("\tat ").append(element);
+            }
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Implements interfaces with hidden classes whose methods call a {@link MethodHandle} directly.
+ * <p>
+ * For every interface a small class is generated once. It stores one handle per abstract method in a final field and
+ * each method is a single {@code invokeExact} on that field, so calls are not boxed or routed through an
+ * {@link java.lang.reflect.InvocationHandler}. The hidden class is defined in the package of the interface and its
+ * final fields are trusted by the JIT, which lets it inline the handle.
+ * </p>
+ */
+final class HandleBridges {
+    private static final ClassValue<Bridge> BRIDGES = new ClassValue<>() {
+        @Override
+        protected Bridge computeValue(Class<?> type) {
+            return generate(type);
+        }
+    };
+
+    private HandleBridges() {
+    }
+
+    /**
+     * Returns the abstract methods a bridge for the interface implements, in the order of its handle fields.
+     */
+    static List<Method> methods(Class<?> iface) {
+        return BRIDGES.get(iface).methods;
+    }
+
+    /**
+     * Creates an instance of the interface whose methods call the handles returned by {@code implementation}.
+     * Each handle is adapted to the exact type of its method.
+     */
+    static <T> T implement(Class<T> iface, Function<Method, MethodHandle> implementation) {
+        Bridge bridge = BRIDGES.get(iface);
+
+        MethodHandle[] handles = new MethodHandle[bridge.methods.size()];
+        for (int i = 0; i < handles.length; i++) {
+            Method method = bridge.methods.get(i);
+            handles[i] = implementation.apply(method)
+                    .asType(MethodType.methodType(method.getReturnType(), method.getParameterTypes()));
+        }
+
+        try {
+            return iface.cast(bridge.constructor.invoke(handles));
+        } catch (Throwable e) {
+            throw new InjectionException("Failed to instantiate generated implementation of " + iface.getName(), e);
+        }
+    }
+
+    private static Bridge generate(Class<?> iface) {
+        if (!iface.isInterface()) {
+            throw new InjectionException(iface.getName() + " is not an interface.");
+        }
+
+        List<Method> methods = abstractMethods(iface);
+        String packagePrefix = iface.getPackageName().isEmpty() ? "" : iface.getPackageName().replace('.', '/') + "/";
+        String name = packagePrefix + iface.getSimpleName() + "$$Bridge";
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(iface, MethodHandles.lookup());
+            Class<?> hidden = lookup.defineHiddenClass(classFile(name, iface, methods), true).lookupClass();
+            MethodHandle constructor = lookup.findConstructor(hidden, MethodType.methodType(void.class, MethodHandle[].class));
+            return new Bridge(methods, constructor);
+        } catch (ReflectiveOperationException | IllegalArgumentException | LinkageError e) {
+            throw new InjectionException("Failed to generate implementation of " + iface.getName(), e);
+        }
+    }
+
+    private static List<Method> abstractMethods(Class<?> iface) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        for (Method method : iface.getMethods()) {
+            if (Modifier.isAbstract(method.getModifiers()) && !method.isDefault() && !isObjectMethod(method)) {
+                methods.putIfAbsent(method.getName() + descriptor(method), method);
+            }
+        }
+        return List.copyOf(methods.values());
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        try {
+            Object.class.getMethod(method.getName(), method.getParameterTypes());
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static byte[] classFile(String name, Class<?> iface, List<Method> methods) {
+        ClassFile file = new ClassFile(name, "java/lang/Object", ClassFile.internalName(iface));
+
+        ClassFile.Code init = new ClassFile.Code(3, 2)
+                .op(ClassFile.ALOAD_0)
+                .op(ClassFile.INVOKESPECIAL, file.pool.methodRef("java/lang/Object", "<init>", "()V"));
+        for (int i = 0; i < methods.size(); i++) {
+            file.field(ClassFile.ACC_PRIVATE | ClassFile.ACC_FINAL, "h" + i, ClassFile.HANDLE_DESCRIPTOR);
+            init.op(ClassFile.ALOAD_0).op(ClassFile.ALOAD_1).intConstant(i).op(ClassFile.AALOAD)
+                    .op(ClassFile.PUTFIELD, file.pool.fieldRef(name, "h" + i, ClassFile.HANDLE_DESCRIPTOR));
+        }
+        init.op(ClassFile.RETURN);
+        file.method(ClassFile.ACC_PUBLIC, "<init>", "([" + ClassFile.HANDLE_DESCRIPTOR + ")V", init);
+
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            String descriptor = descriptor(method);
+            Class<?>[] parameters = method.getParameterTypes();
+            int locals = 1 + ClassFile.slotSize(parameters);
+
+            ClassFile.Code body = new ClassFile.Code(Math.max(locals, ClassFile.slotSize(method.getReturnType())), locals)
+                    .op(ClassFile.ALOAD_0)
+                    .op(ClassFile.GETFIELD, file.pool.fieldRef(name, "h" + i, ClassFile.HANDLE_DESCRIPTOR))
+                    .loadArguments(parameters, 1)
+                    .op(ClassFile.INVOKEVIRTUAL, file.pool.methodRef(ClassFile.HANDLE, "invokeExact", descriptor))
+                    .returnValue(method.getReturnType());
+            file.method(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL, method.getName(), descriptor, body);
+        }
+
+        return file.toByteArray();
+    }
+
+    static String descriptor(Method method) {
+        return MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString();
+    }
+
+    private record Bridge(List<Method> methods, MethodHandle constructor) {
+    }
+}
@@ -0,0 +1,220 @@
+package me.m0dii.m0jdi.inject;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Walks the object graphs of managed instances and estimates their retained sizes.
+ * <p>
+ * Every root is walked on its own, up to a maximum depth and object count. Objects reached from more than one root
+ * are counted as shared instead of being attributed to either. Other roots, classes and class loaders are not
+ * entered. Field layouts are computed once per class.
+ * </p>
+ */
+final class HeapEstimator {
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int COLLECTION_ENTRY = 32;
+
+    private static final ClassValue<Layout> LAYOUTS = new ClassValue<>() {
+        @Override
+        protected Layout computeValue(Class<?> type) {
+            return Layout.of(type);
+        }
+    };
+
+    private final int maxDepth;
+    private final int maxObjects;
+
+    HeapEstimator(int maxDepth, int maxObjects) {
+        this.maxDepth = maxDepth;
+        this.maxObjects = maxObjects;
+    }
+
+    record Root(Class<?> type, Object instance, boolean cached) {
+    }
+
+    MemoryReport estimate(List<Root> roots) {
+        Set<Object> rootInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        roots.forEach(root -> rootInstances.add(root.instance()));
+
+        Map<Object, Integer> reachCounts = new IdentityHashMap<>();
+        List<Walk> walks = new ArrayList<>();
+        for (Root root : roots) {
+            Walk walk = walk(root.instance(), rootInstances);
+            walk.objects.keySet().forEach(object -> reachCounts.merge(object, 1, Integer::sum));
+            walks.add(walk);
+        }
+
+        List<MemoryReport.Entry> entries = new ArrayList<>();
+        Set<Object> shared = Collections.newSetFromMap(new IdentityHashMap<>());
+        long sharedBytes = 0;
+
+        for (int i = 0; i < roots.size(); i++) {
+            Root root = roots.get(i);
+            Walk walk = walks.get(i);
+
+            long retained = 0;
+            long rootShared = 0;
+            for (Map.Entry<Object, Long> object : walk.objects.entrySet()) {
+                if (reachCounts.get(object.getKey()) > 1 && object.getKey() != root.instance()) {
+                    rootShared += object.getValue();
+                    if (shared.add(object.getKey())) {
+                        sharedBytes += object.getValue();
+                    }
+                } else {
+                    retained += object.getValue();
+                }
+            }
+
+            entries.add(new MemoryReport.Entry(root.type(), root.cached(), retained, rootShared,
+                    walk.objects.size(), walk.truncated));
+        }
+
+        entries.sort(Comparator.comparingLong(MemoryReport.Entry::retainedBytes).reversed());
+        return new MemoryReport(entries, sharedBytes);
+    }
+
+    private Walk walk(Object root, Set<Object> rootInstances) {
+        Walk walk = new Walk();
+        Deque<Object> pending = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        pending.push(root);
+        depths.push(0);
+
+        while (!pending.isEmpty()) {
+            Object object = pending.pop();
+            int depth = depths.pop();
+
+            if (walk.objects.containsKey(object)) {
+                continue;
+            }
+            if (walk.objects.size() >= maxObjects) {
+                walk.truncated = true;
+                break;
+            }
+
+            List<Object> children = new ArrayList<>();
+            walk.objects.put(object, sizeOf(object, children));
+
+            if (depth >= maxDepth) {
+                walk.truncated |= children.stream().anyMatch(Objects::nonNull);
+                continue;
+            }
+
+            for (Object child : children) {
+                if (child != null && !rootInstances.contains(child) && !isOpaque(child)) {
+                    pending.push(child);
+                    depths.push(depth + 1);
+                }
+            }
+        }
+
+        return walk;
+    }
+
+    /**
+     * Returns the shallow size of the object and adds the objects it references to {@code children}.
+     */
+    private static long sizeOf(Object object, List<Object> children) {
+        Class<?> type = object.getClass();
+
+        if (type.isArray()) {
+            Class<?> component = type.getComponentType();
+            int length = Array.getLength(object);
+            if (!component.isPrimitive()) {
+                Collections.addAll(children, (Object[]) object);
+            }
+            return align(ARRAY_HEADER + (long) length * (component.isPrimitive() ? primitiveSize(component) : REFERENCE));
+        }
+
+        if (object instanceof String string) {
+            return LAYOUTS.get(String.class).shallowSize + align(ARRAY_HEADER + string.length());
+        }
+
+        Layout layout = LAYOUTS.get(type);
+        if (layout.accessible) {
+            for (Field field : layout.references) {
+                try {
+                    children.add(field.get(object));
+                } catch (IllegalAccessException e) {
+                    // Sized from the layout only
+                }
+            }
+            return layout.shallowSize;
+        }
+
+        if (object instanceof Collection<?> collection) {
+            children.addAll(collection);
+            return layout.shallowSize + align(ARRAY_HEADER + (long) collection.size() * REFERENCE)
+                    + (long) collection.size() * COLLECTION_ENTRY;
+        }
+
+        if (object instanceof Map<?, ?> map) {
+            children.addAll(map.keySet());
+            children.addAll(map.values());
+            return layout.shallowSize + align(ARRAY_HEADER + (long) map.size() * REFERENCE)
+                    + (long) map.size() * COLLECTION_ENTRY;
+        }
+
+        return layout.shallowSize;
+    }
+
+    private static boolean isOpaque(Object object) {
+        return object instanceof Class<?> || object instanceof ClassLoader || object instanceof Thread;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static final class Walk {
+        private final Map<Object, Long> objects = new IdentityHashMap<>();
+        private boolean truncated;
+    }
+
+    private record Layout(long shallowSize, List<Field> references, boolean accessible) {
+        static Layout of(Class<?> type) {
+            long size = OBJECT_HEADER;
+            List<Field> references = new ArrayList<>();
+            boolean accessible = true;
+
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+
+                    if (field.getType().isPrimitive()) {
+                        size += primitiveSize(field.getType());
+                    } else {
+                        size += REFERENCE;
+                        if (field.trySetAccessible()) {
+                            references.add(field);
+                        } else {
+                            accessible = false;
+                        }
+                    }
+                }
+            }
+
+            return new Layout(align(size), List.copyOf(references), accessible);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package me.m0dii.m0jdi.inject;
 
+import me.m0dii.m0jdi.annotations.ConfigValue;
 import me.m0dii.m0jdi.annotations.Inject;
 import me.m0dii.m0jdi.annotations.Injected;
 import me.m0dii.m0jdi.exception.InjectionException;
@@ -8,28 +9,129 @@ import me.m0dii.m0jdi.exception.MultipleConstructorException;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 
 public class Injector {
+    private static final ThreadLocal<InjectorContainer> AMBIENT = new ThreadLocal<>();
+    private static volatile InjectorContainer defaultContainer;
+
     private final InjectorContainer container;
 
     public Injector(InjectorContainer container) {
         this.container = container;
     }
 
+    /**
+     * Injects the dependencies of the targets from the ambient container.
+     *
+     * @param targets The objects to inject.
+     * @see #ambientContainer()
+     */
     public static void inject(Object... targets) {
         if (targets == null) {
             return;
         }
 
-        Injector injector = new Injector(new InjectorContainer());
+        Injector injector = new Injector(ambientContainer());
 
         for (Object target : targets) {
             injector.injectDependencies(target);
         }
     }
 
+    /**
+     * Creates an instance of the class with dependencies from the ambient container.
+     *
+     * @param clazz The class to instantiate.
+     * @param <T>   The type of the class being instantiated.
+     * @return A new instance of the specified class.
+     * @see #ambientContainer()
+     */
     public static <T> T create(Class<T> clazz) {
-        return new Injector(new InjectorContainer()).createInstance(clazz);
+        return new Injector(ambientContainer()).createInstance(clazz);
+    }
+
+    /**
+     * Runs a task with the container bound as the ambient container of the current thread.
+     * <p>
+     * The binding lasts until the task returns, after which the previous binding, if any, is restored. Bindings can
+     * be nested. Threads started by the task do not inherit the binding.
+     * </p>
+     *
+     * @param container The container to bind.
+     * @param task      The task to run.
+     */
+    public static void runWith(InjectorContainer container, Runnable task) {
+        InjectorContainer previous = bind(container);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls a task with the container bound as the ambient container of the current thread and returns its result.
+     *
+     * @param container The container to bind.
+     * @param task      The task to call.
+     * @param <T>       The type of the result.
+     * @return The result of the task.
+     * @throws Exception If the task throws.
+     * @see #runWith(InjectorContainer, Runnable)
+     */
+    public static <T> T callWith(InjectorContainer container, Callable<T> task) throws Exception {
+        InjectorContainer previous = bind(container);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Sets the container used by the static entry points on threads without a bound container.
+     *
+     * @param container The default container, or {@code null} to create a new container on every call again.
+     */
+    public static void setDefaultContainer(InjectorContainer container) {
+        defaultContainer = container;
+    }
+
+    /**
+     * Returns the container the static entry points {@link #inject(Object...)} and {@link #create(Class)} resolve
+     * against.
+     * <p>
+     * This is the container bound to the current thread by {@link #runWith(InjectorContainer, Runnable)} or
+     * {@link #callWith(InjectorContainer, Callable)}, otherwise the default container. If neither exists, a new
+     * container is returned, so nothing is shared between calls.
+     * </p>
+     *
+     * @return The ambient container.
+     */
+    public static InjectorContainer ambientContainer() {
+        InjectorContainer container = AMBIENT.get();
+        if (container != null) {
+            return container;
+        }
+
+        container = defaultContainer;
+        return container != null ? container : new InjectorContainer();
+    }
+
+    private static InjectorContainer bind(InjectorContainer container) {
+        InjectorContainer previous = AMBIENT.get();
+        AMBIENT.set(Objects.requireNonNull(container, "container"));
+        return previous;
+    }
+
+    private static void restore(InjectorContainer previous) {
+        if (previous == null) {
+            AMBIENT.remove();
+        } else {
+            AMBIENT.set(previous);
+        }
     }
 
     /**
@@ -47,13 +149,15 @@ public class Injector {
      */
     @SuppressWarnings("unchecked")
     public <T> T createInstance(Class<T> clazz) {
+        container.record(clazz);
+
         var annotatedConstructors = Arrays.stream(clazz.getDeclaredConstructors())
                 .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
                 .toList();
 
         if (annotatedConstructors.isEmpty()) {
             try {
-                return clazz.getDeclaredConstructor().newInstance();
+                return container.instantiate(clazz.getDeclaredConstructor());
             } catch (Exception e) {
                 throw new MissingConstructorException("Failed to instantiate " + clazz + ". No @Inject or default constructor found.");
             }
@@ -65,14 +169,11 @@ public class Injector {
 
         var constructor = annotatedConstructors.getFirst();
 
-        Class<?>[] parameterTypes = constructor.getParameterTypes();
-        Object[] dependencies = Arrays.stream(parameterTypes)
-                .map(container::resolve)
-                .toArray();
+        Object[] dependencies = container.resolveArguments(constructor);
 
         try {
             constructor.setAccessible(true);
-            return (T) constructor.newInstance(dependencies);
+            return (T) container.instantiate(constructor, dependencies);
         } catch (Exception e) {
             throw new InjectionException("Failed to instantiate " + clazz + " with @Inject constructor");
         }
@@ -83,7 +184,9 @@ public class Injector {
      * <p>
      * The method traverses the class hierarchy of the target object. For each field annotated with
      * {@link Injected}, it resolves the dependency from the {@link InjectorContainer} and assigns it
-     * to the field. If dependency injection fails at any point, an {@link InjectionException} is thrown.
+     * to the field. Fields that are also annotated with {@link ConfigValue} receive the converted value from the
+     * container's {@link ConfigurationSnapshot} instead. If dependency injection fails at any point, an
+     * {@link InjectionException} is thrown.
      * </p>
      *
      * @param target The object whose dependencies should be injected. If {@code null}, the method does nothing.
@@ -101,6 +204,11 @@ public class Injector {
             Arrays.stream(fields)
                     .filter(field -> field.isAnnotationPresent(Injected.class))
                     .forEach(field -> {
+                        if (field.isAnnotationPresent(ConfigValue.class)) {
+                            container.injectConfigValue(target, field);
+                            return;
+                        }
+
                         Object dependency = container.resolve(field.getType());
                         if (dependency != null) {
                             injectDependencies(dependency);
@@ -1,26 +1,471 @@
 package me.m0dii.m0jdi.inject;
 
+import me.m0dii.m0jdi.annotations.Assisted;
+import me.m0dii.m0jdi.annotations.Async;
+import me.m0dii.m0jdi.annotations.Cached;
 import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.ConditionalOnClass;
+import me.m0dii.m0jdi.annotations.ConditionalOnMissingBean;
+import me.m0dii.m0jdi.annotations.ConditionalOnProperty;
+import me.m0dii.m0jdi.annotations.ConfigValue;
 import me.m0dii.m0jdi.annotations.Inject;
 import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.ConstructionTimeoutException;
 import me.m0dii.m0jdi.exception.InjectionException;
 import me.m0dii.m0jdi.exception.MissingAnnotationException;
 import me.m0dii.m0jdi.exception.MissingConstructorException;
 import me.m0dii.m0jdi.exception.MultipleConstructorException;
+import me.m0dii.m0jdi.intercept.MethodInterceptor;
 
 import java.io.File;
 import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
 import java.net.URL;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
-public class InjectorContainer {
-    private final Map<Class<?>, Object> singletonInstances = new HashMap<>();
-    private final Map<Class<?>, Class<?>> componentImplementations = new HashMap<>();
+public class InjectorContainer implements AutoCloseable {
+    private static final int DEFAULT_CACHE_MAXIMUM_SIZE = 1024;
+    private static final int DEFAULT_MEMORY_WALK_DEPTH = 64;
+    private static final int DEFAULT_MEMORY_WALK_OBJECTS = 1_000_000;
+    private static final int DEFAULT_ASYNC_CONCURRENCY = 64;
+    private static final MethodHandle RESOLVE;
+    private static final MethodHandle SUPPLIER_GET;
+    private static final MethodHandle CONSTRUCTION_FAILED;
+
+    static {
+        try {
+            RESOLVE = MethodHandles.lookup().findVirtual(InjectorContainer.class, "resolve",
+                    MethodType.methodType(Object.class, Class.class));
+            SUPPLIER_GET = MethodHandles.publicLookup().findVirtual(Supplier.class, "get",
+                    MethodType.methodType(Object.class));
+            CONSTRUCTION_FAILED = MethodHandles.lookup().findStatic(InjectorContainer.class, "constructionFailed",
+                    MethodType.methodType(Object.class, Class.class, Throwable.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Map<Class<?>, Object> singletonInstances = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Class<?>> componentImplementations = new ConcurrentHashMap<>();
+    private final SingleFlight singletonConstructions = new SingleFlight();
+    private final Map<Class<?>, Owned<Supplier<?>>> bindings = new ConcurrentHashMap<>();
+    private final Map<ClassLoader, Set<Class<?>>> typesByLoader = new ConcurrentHashMap<>();
+
+    private final InstanceCache instanceCache = new InstanceCache(DEFAULT_CACHE_MAXIMUM_SIZE);
+    private final Map<Executable, Supplier<?>[]> parameterResolvers = new ConcurrentHashMap<>();
+    private final Map<Field, ConfigValuePoint.FieldWriter> configFieldWriters = new ConcurrentHashMap<>();
+    private final Map<Constructor<?>, Instantiation> instantiations = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Owned<Object>> factories = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Owned<Supplier<?>>> compiled = new ConcurrentHashMap<>();
+    private final List<InterceptedSubclasses.Binding> interceptors = new CopyOnWriteArrayList<>();
+    private final Map<Constructor<?>, Constructor<?>> interceptedConstructors = new ConcurrentHashMap<>();
+    private final AsyncDispatcher asyncDispatcher = new AsyncDispatcher(DEFAULT_ASYNC_CONCURRENCY);
+    private final InterceptedSubclasses.Binding asyncBinding =
+            new InterceptedSubclasses.Binding(AsyncDispatcher::matches, asyncDispatcher);
+
+    private volatile ConfigurationSnapshot configuration = ConfigurationSnapshot.empty();
+    private volatile BootProfiler profiler;
+    private volatile ResolutionRecorder recorder;
+    private volatile ConstructionWatchdog watchdog;
+
+    /**
+     * Sets the configuration snapshot that {@link ConfigValue} injection points read from.
+     * <p>
+     * Injection points are compiled against the snapshot the first time they are used, so the snapshot should be
+     * set before resolving any type that depends on it. Setting a new snapshot discards the compiled points.
+     * </p>
+     *
+     * @param configuration The configuration snapshot.
+     */
+    public void setConfiguration(ConfigurationSnapshot configuration) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        parameterResolvers.clear();
+        configFieldWriters.clear();
+        instantiations.clear();
+        factories.clear();
+        compiled.clear();
+    }
+
+    /**
+     * Returns the configuration snapshot of this container.
+     *
+     * @return The configuration snapshot, empty unless one was set.
+     */
+    public ConfigurationSnapshot getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Sets how many {@link Cached} instances the container keeps at most.
+     * When the bound is exceeded, the least recently used instances are evicted.
+     *
+     * @param maximumSize The maximum number of cached instances, or zero to disable caching.
+     */
+    public void setCacheMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Cache maximum size must not be negative");
+        }
+        instanceCache.setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Evicts the cached instance of a {@link Cached} type, closing it if it is {@link AutoCloseable}.
+     *
+     * @param clazz The cached type.
+     * @return {@code true} if an instance was cached and has been evicted.
+     */
+    public boolean evictCached(Class<?> clazz) {
+        return instanceCache.evict(clazz);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the {@link Cached} instance cache.
+     *
+     * @return The current cache statistics.
+     */
+    public CacheStats getCacheStats() {
+        return instanceCache.stats();
+    }
+
+    /**
+     * Estimates the retained heap size of every singleton and cached instance managed by this container.
+     *
+     * @return The ranked memory report.
+     * @see #estimateMemory(int, int)
+     */
+    public MemoryReport estimateMemory() {
+        return estimateMemory(DEFAULT_MEMORY_WALK_DEPTH, DEFAULT_MEMORY_WALK_OBJECTS);
+    }
+
+    /**
+     * Estimates the retained heap size of every singleton and cached instance managed by this container.
+     * <p>
+     * The object graph of each instance is walked reflectively, without entering other managed instances. Objects
+     * reachable from several managed instances are reported as shared rather than attributed to one of them.
+     * Walking a large graph is expensive; this is meant for diagnostics, not for regular use.
+     * </p>
+     *
+     * @param maxDepth   The maximum number of references followed from each instance.
+     * @param maxObjects The maximum number of objects visited per instance.
+     * @return The ranked memory report.
+     */
+    public MemoryReport estimateMemory(int maxDepth, int maxObjects) {
+        List<HeapEstimator.Root> roots = new ArrayList<>();
+        Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (Map.Entry<Class<?>, Object> singleton : Map.copyOf(singletonInstances).entrySet()) {
+            if (seen.add(singleton.getValue())) {
+                roots.add(new HeapEstimator.Root(singleton.getKey(), singleton.getValue(), false));
+            }
+        }
+        for (Map.Entry<Class<?>, Object> cached : instanceCache.instances().entrySet()) {
+            if (seen.add(cached.getValue())) {
+                roots.add(new HeapEstimator.Root(cached.getKey(), cached.getValue(), true));
+            }
+        }
+
+        return new HeapEstimator(maxDepth, maxObjects).estimate(roots);
+    }
+
+    /**
+     * Turns on boot profiling for this container.
+     * <p>
+     * From this point on, every type the container constructs is timed and recorded in the dependency graph of the
+     * returned {@link BootProfiler}. Containers that never enable profiling skip all recording.
+     * </p>
+     *
+     * @return The profiler collecting construction times, shared by subsequent calls.
+     */
+    public BootProfiler enableProfiling() {
+        synchronized (this) {
+            if (profiler == null) {
+                profiler = new BootProfiler();
+            }
+            return profiler;
+        }
+    }
+
+    /**
+     * Returns the boot profiler of this container.
+     *
+     * @return The profiler, or {@code null} if {@link #enableProfiling()} was never called.
+     */
+    public BootProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Sets the executor that {@link Async} methods are dispatched to.
+     * <p>
+     * By default the container starts one virtual thread per call, on an executor it creates on first use and shuts
+     * down in {@link #close()}. An executor set here is used as is and is not shut down by the container.
+     * </p>
+     *
+     * @param executor The executor to dispatch to.
+     */
+    public void setAsyncExecutor(Executor executor) {
+        asyncDispatcher.setExecutor(Objects.requireNonNull(executor, "executor"));
+    }
+
+    /**
+     * Sets how many {@link Async} calls of a single bean type may run at the same time. Further calls wait for a
+     * running one to finish. The limit applies to bean types whose first asynchronous call comes after it is set.
+     *
+     * @param maxConcurrency The maximum number of concurrent calls per bean type, 64 by default.
+     */
+    public void setAsyncConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Async concurrency must be positive: " + maxConcurrency);
+        }
+        asyncDispatcher.setMaxConcurrency(maxConcurrency);
+    }
+
+    /**
+     * Closes the container's asynchronous executor.
+     * <p>
+     * No further {@link Async} calls are accepted, and the method returns once every dispatched call has finished.
+     * Resolving and creating instances is not affected, except that construction budgets are no longer enforced;
+     * construction times are still recorded.
+     * </p>
+     */
+    @Override
+    public void close() {
+        asyncDispatcher.close();
+        ConstructionWatchdog watchdog = this.watchdog;
+        if (watchdog != null) {
+            watchdog.close();
+        }
+    }
+
+    /**
+     * Sets a time budget for constructing any type through this container.
+     * <p>
+     * A watchdog thread checks every construction against its budget, which includes the time spent constructing its
+     * dependencies. When a budget runs out, the watchdog captures the stack of the constructing thread and applies the
+     * policy: {@link ConstructionTimeoutPolicy#FAIL} interrupts the thread and makes the construction throw a
+     * {@link ConstructionTimeoutException} with the resolution path, {@link ConstructionTimeoutPolicy#LOG} logs the
+     * same report and lets the construction continue. Once a budget is set, construction times are also recorded,
+     * see {@link #getConstructionTimes()}.
+     * </p>
+     *
+     * @param budget The budget for every construction, or {@link Duration#ZERO} to only apply per-type budgets.
+     * @param policy What to do when a construction exceeds its budget.
+     */
+    public void setConstructionBudget(Duration budget, ConstructionTimeoutPolicy policy) {
+        Objects.requireNonNull(policy, "policy");
+        synchronized (this) {
+            if (watchdog == null) {
+                watchdog = new ConstructionWatchdog(budget, policy);
+            } else {
+                watchdog.setDefaultBudget(budget, policy);
+            }
+        }
+    }
+
+    /**
+     * Sets the time budget for constructing one type, overriding the budget set for all types.
+     * Unless {@link #setConstructionBudget(Duration, ConstructionTimeoutPolicy)} chose another policy, a construction
+     * exceeding the budget fails.
+     *
+     * @param type   The type whose constructions are budgeted.
+     * @param budget The budget for each construction of the type.
+     */
+    public void setConstructionBudget(Class<?> type, Duration budget) {
+        synchronized (this) {
+            if (watchdog == null) {
+                watchdog = new ConstructionWatchdog(Duration.ZERO, ConstructionTimeoutPolicy.FAIL);
+            }
+            watchdog.setBudget(type, budget);
+        }
+    }
+
+    /**
+     * Returns how long the construction of each type took, including its dependencies. For types constructed more
+     * than once, the longest construction is returned.
+     *
+     * @return The construction times, empty unless a construction budget was set.
+     */
+    public Map<Class<?>, Duration> getConstructionTimes() {
+        ConstructionWatchdog watchdog = this.watchdog;
+        return watchdog == null ? Map.of() : watchdog.constructionTimes();
+    }
+
+    /**
+     * Starts recording which types are resolved or created through an {@link Injector} of this container, and when.
+     * Only the first request for each type is recorded, and only within the window. Starting a new recording
+     * discards the previous one.
+     *
+     * @param window How long to record for, measured from now.
+     * @see #saveProfile(Path)
+     */
+    public void startRecording(Duration window) {
+        recorder = new ResolutionRecorder(window.toNanos());
+    }
+
+    /**
+     * Saves the current recording as a resolution profile, which {@link #preload(Path)} can read on a later start.
+     *
+     * @param file The file to write the profile to.
+     * @throws InjectionException If no recording was started or the file cannot be written.
+     */
+    public void saveProfile(Path file) {
+        ResolutionRecorder recorder = this.recorder;
+        if (recorder == null) {
+            throw new InjectionException("No resolution recording was started.");
+        }
+        recorder.save(file);
+    }
+
+    /**
+     * Prepares the types of a resolution profile on a background thread, in the order they were first requested.
+     * <p>
+     * Singletons are created and registered. For other types, the constructor is looked up and its parameters,
+     * configuration values and intercepted subclass are compiled, without creating an instance. Types that no longer
+     * exist or fail to prepare are skipped; resolving them later reports the failure as usual. The container can be
+     * used while preloading runs, and a singleton is never created twice.
+     * </p>
+     *
+     * @param file The resolution profile to read.
+     * @return A future completing when every type of the profile was prepared, or exceptionally if preloading was
+     *         stopped by an error such as an {@link OutOfMemoryError}.
+     * @throws InjectionException If the profile cannot be read.
+     */
+    public CompletableFuture<Void> preload(Path file) {
+        List<String> classNames = ResolutionRecorder.load(file);
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Thread.ofPlatform().daemon().name("m0jdi-preload").start(() -> {
+            try {
+                for (String className : classNames) {
+                    try {
+                        preloadType(Class.forName(className, false, classLoader));
+                    } catch (ClassNotFoundException e) {
+                        // Removed since the profile was recorded
+                    } catch (RuntimeException | LinkageError e) {
+                        System.out.println("Warning: Failed to preload " + className + ": " + e.getMessage());
+                    }
+                }
+                done.complete(null);
+            } catch (Throwable e) {
+                done.completeExceptionally(e);
+                throw e;
+            }
+        });
+        return done;
+    }
+
+    private void preloadType(Class<?> type) {
+        if (bindings.containsKey(type)) {
+            return;
+        }
+
+        Class<?> implementation = implementationOf(type);
+        if (implementation.isAnnotationPresent(Singleton.class)) {
+            resolve(implementation);
+            return;
+        }
+
+        if (implementation.isInterface() || Modifier.isAbstract(implementation.getModifiers())) {
+            return;
+        }
+
+        Constructor<?> constructor = compiledConstructor(implementation);
+        constructor.setAccessible(true);
+        effectiveConstructor(constructor);
+        parameterResolvers.computeIfAbsent(constructor, this::compileParameters);
+    }
+
+    /**
+     * Records a type created through an {@link Injector} while a recording is active.
+     */
+    void record(Class<?> type) {
+        ResolutionRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.record(type);
+        }
+    }
+
+    /**
+     * Installs the bindings declared by the given modules.
+     * <p>
+     * Bound types are resolved through their binding before any annotation is checked, so they do not need
+     * {@link Component} or {@link Singleton}. Each type can be bound only once.
+     * </p>
+     *
+     * @param modules The modules to install.
+     * @throws InjectionException If a type is bound more than once.
+     */
+    public void install(InjectorModule... modules) {
+        Binder binder = new Binder(this);
+        for (InjectorModule module : modules) {
+            binder.install(module);
+        }
+    }
+
+    void bindImplementation(Class<?> type, Class<?> implementation) {
+        boolean managed = implementation.isAnnotationPresent(Component.class) || implementation.isAnnotationPresent(Singleton.class);
+        if (type == implementation) {
+            // Resolving the type itself would run this binding again
+            addBinding(type, () -> managed ? resolveManaged(implementation) : construct(implementation, false), implementation);
+        } else {
+            addBinding(type, () -> managed ? resolve(implementation) : construct(implementation, false), implementation);
+        }
+        if (type != implementation) {
+            componentImplementations.put(type, implementation);
+            index(implementation, implementation);
+        }
+    }
+
+    void bindInstance(Class<?> type, Object instance) {
+        addBinding(type, () -> instance, instance.getClass());
+        singletonInstances.put(type, instance);
+    }
+
+    void bindSupplier(Class<?> type, Supplier<?> supplier) {
+        addBinding(type, () -> {
+            Object instance = supplier.get();
+            if (instance == null) {
+                throw new InjectionException("Supplier bound to " + type.getName() + " returned null.");
+            }
+            return instance;
+        }, supplier.getClass());
+    }
+
+    /**
+     * Binds the type, owned by the loaders of the type and of the class providing its instances.
+     */
+    private void addBinding(Class<?> type, Supplier<?> binding, Class<?> provider) {
+        if (singletonInstances.containsKey(type) || bindings.putIfAbsent(type, owned(binding, type, provider)) != null) {
+            throw new InjectionException("Type " + type.getName() + " is already bound.");
+        }
+        index(type, type);
+        index(type, provider);
+    }
 
     /**
      * Registers a class as a singleton or component.
      * If the class is marked with the {@link Singleton} annotation, it initializes
-     * and stores an instance of the class for future use.
+     * and stores an instance of the class for future use, unless an instance is already registered.
      * If the class is marked with the {@link Component} annotation, it is registered as a component without being stored.
      *
      * @param clazz The class to be registered as a singleton or component.
@@ -29,16 +474,23 @@ public class InjectorContainer {
      */
     public <T> void registerSingleton(Class<T> clazz) {
         if (clazz.isAnnotationPresent(Singleton.class)) {
-            try {
-                var constructor = clazz.getDeclaredConstructor();
-                constructor.setAccessible(true);
-                singletonInstances.put(clazz, constructor.newInstance());
-            } catch (Exception e) {
-                throw new InjectionException("Failed to create singleton instance for " + clazz.getName());
-            }
+            // Shares the construction with concurrent resolutions, such as preloading, and keeps an existing instance
+            singletonConstructions.run(clazz, () -> clazz.cast(singletonInstances.get(clazz)), () -> supervised(clazz, () -> {
+                try {
+                    var constructor = clazz.getDeclaredConstructor();
+                    constructor.setAccessible(true);
+                    T instance = instantiate(constructor);
+                    Object existing = singletonInstances.putIfAbsent(clazz, instance);
+                    index(clazz, clazz);
+                    return existing == null ? instance : clazz.cast(existing);
+                } catch (Exception e) {
+                    throw new InjectionException("Failed to create singleton instance for " + clazz.getName());
+                }
+            }));
         } else if (clazz.isAnnotationPresent(Component.class)) {
             for (Class<?> iface : clazz.getInterfaces()) {
                 componentImplementations.put(iface, clazz);
+                index(iface, clazz);
             }
         } else {
             System.out.println("Warning: Trying to register non-singleton class: " + clazz.getSimpleName());
@@ -48,8 +500,10 @@ public class InjectorContainer {
     /**
      * Resolves and returns an instance of the specified class.
      * <ul>
+     *     <li>If the class is bound by an installed {@link InjectorModule}, the binding supplies the instance.</li>
      *     <li>If the class is annotated with {@link Singleton} and already registered, the existing instance is returned.</li>
      *     <li>If the class is annotated with {@link Singleton} but not registered, a new instance is created, registered, and then returned.</li>
+     *     <li>If the class is annotated with {@link Component} and {@link Cached}, a cached instance is returned while it is still valid.</li>
      *     <li>If the class is annotated with {@link Component} but not {@link Singleton}, a new instance is always created and returned.</li>
      *     <li>If the class is an interface and an implementation is registered, resolves and returns its implementation.</li>
      * </ul>
@@ -61,6 +515,23 @@ public class InjectorContainer {
      * @throws InjectionException If instance creation fails or the class does not have a valid constructor.
      */
     public <T> T resolve(Class<T> clazz) {
+        ResolutionRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.record(clazz);
+        }
+
+        Owned<Supplier<?>> binding = bindings.get(clazz);
+        if (binding != null) {
+            return clazz.cast(binding.value().get());
+        }
+
+        return resolveManaged(clazz);
+    }
+
+    /**
+     * Resolves a type from its annotations, without consulting {@link InjectorModule} bindings.
+     */
+    private <T> T resolveManaged(Class<T> clazz) {
         if (!clazz.isAnnotationPresent(Component.class) && !clazz.isAnnotationPresent(Singleton.class)) {
             throw new MissingAnnotationException("Class " + clazz.getName() + " is not annotated with @Component or @Singleton.");
         }
@@ -71,16 +542,72 @@ public class InjectorContainer {
         }
 
         if (clazz.isAnnotationPresent(Singleton.class)) {
-            if (singletonInstances.containsKey(clazz)) {
-                return clazz.cast(singletonInstances.get(clazz));
+            Object instance = singletonInstances.get(clazz);
+            if (instance == null) {
+                return singletonConstructions.run(clazz, () -> clazz.cast(singletonInstances.get(clazz)),
+                        () -> construct(clazz, true));
             }
 
-            return resolveSingleton(clazz);
+            BootProfiler profiler = this.profiler;
+            if (profiler != null) {
+                profiler.reference(clazz);
+            }
+            return clazz.cast(instance);
+        } else if (clazz.isAnnotationPresent(Cached.class)) {
+            return instanceCache.get(clazz, clazz.getAnnotation(Cached.class), () -> {
+                index(clazz, clazz);
+                return construct(clazz, false);
+            });
         } else {
-            return resolveDependency(clazz);
+            return construct(clazz, false);
         }
     }
 
+    private <T> T construct(Class<T> clazz, boolean singleton) {
+        if (profiler == null && watchdog == null) {
+            return singleton ? resolveSingleton(clazz) : resolveDependency(clazz);
+        }
+
+        return supervised(clazz, () -> singleton ? resolveSingleton(clazz) : resolveDependency(clazz));
+    }
+
+    /**
+     * Runs a construction under the profiler and the construction budget, whichever are enabled.
+     * A singleton whose construction fails its budget is not kept.
+     */
+    private <T> T supervised(Class<T> clazz, Supplier<T> construction) {
+        // Read once, so a profiler enabled meanwhile is not exited without having been entered
+        BootProfiler profiler = this.profiler;
+        ConstructionWatchdog watchdog = this.watchdog;
+        ConstructionWatchdog.Watch watch = watchdog == null ? null : watchdog.start(clazz);
+        if (profiler != null) {
+            profiler.enter(clazz);
+        }
+
+        T instance;
+        try {
+            instance = construction.get();
+        } catch (RuntimeException | Error e) {
+            ConstructionTimeoutException timeout = watch == null ? null : watch.finish();
+            if (timeout != null && !(e instanceof ConstructionTimeoutException)) {
+                timeout.addSuppressed(e);
+                throw timeout;
+            }
+            throw e;
+        } finally {
+            if (profiler != null) {
+                profiler.exit();
+            }
+        }
+
+        ConstructionTimeoutException timeout = watch == null ? null : watch.finish();
+        if (timeout != null) {
+            singletonInstances.remove(clazz, instance);
+            throw timeout;
+        }
+        return instance;
+    }
+
     private <T> T resolveDependency(Class<T> clazz) {
         try {
             var annotatedConstructors = Arrays.stream(clazz.getDeclaredConstructors())
@@ -96,9 +623,7 @@ public class InjectorContainer {
                 }
 
                 defaultConstructor.setAccessible(true);
-                T instance = defaultConstructor.newInstance();
-                singletonInstances.put(clazz, instance);
-                return instance;
+                return instantiate(defaultConstructor);
             }
 
             if (annotatedConstructors.size() > 1) {
@@ -109,18 +634,16 @@ public class InjectorContainer {
             var constructor = annotatedConstructors.getFirst();
 
             constructor.setAccessible(true);
-            Object[] params = Arrays.stream(constructor.getParameterTypes())
-                    .map(this::resolve)
-                    .toArray();
-            return (T) constructor.newInstance(params);
+            Object[] params = resolveArguments(constructor);
+            return (T) instantiate(constructor, params);
         }
-        catch (MissingConstructorException | MultipleConstructorException e) {
+        catch (MissingConstructorException | MultipleConstructorException | ConstructionTimeoutException e) {
             throw e;
         } catch (NoSuchMethodException e) {
             throw new InjectionException("No default constructor found for " + clazz.getName() +
                     ". Make sure the class has a public no-argument constructor or is a static nested class.");
         } catch (Exception e) {
-            throw new InjectionException("Failed to create instance for " + clazz.getName());
+            throw new InjectionException("Failed to create instance for " + clazz.getName(), e);
         }
     }
 
@@ -133,24 +656,403 @@ public class InjectorContainer {
             if (annotatedConstructors.isEmpty()) {
                 var defaultConstructor = clazz.getDeclaredConstructor();
                 defaultConstructor.setAccessible(true);
-                T instance = defaultConstructor.newInstance();
+                T instance = instantiate(defaultConstructor);
                 singletonInstances.put(clazz, instance);
+                index(clazz, clazz);
                 return instance;
             }
 
             var annotatedConstructor = annotatedConstructors.getFirst();
             annotatedConstructor.setAccessible(true);
-            Object[] params = Arrays.stream(annotatedConstructor.getParameterTypes())
-                    .map(this::resolve)
-                    .toArray();
-            T instance = (T) annotatedConstructor.newInstance(params);
+            Object[] params = resolveArguments(annotatedConstructor);
+            T instance = (T) instantiate(annotatedConstructor, params);
             singletonInstances.put(clazz, instance);
+            index(clazz, clazz);
             return instance;
+        } catch (ConstructionTimeoutException e) {
+            throw e;
         } catch (Exception e) {
-            throw new InjectionException("Failed to create singleton instance for " + clazz.getName());
+            throw new InjectionException("Failed to create singleton instance for " + clazz.getName(), e);
+        }
+    }
+
+    /**
+     * Resolves the arguments for an {@link Inject} constructor, to be passed to {@link #instantiate}.
+     * <p>
+     * The parameters of each constructor are compiled once to resolve their type from this container. Parameters
+     * annotated with {@link ConfigValue} are left out, they are constants of the constructor handle.
+     * </p>
+     */
+    Object[] resolveArguments(Executable executable) {
+        Supplier<?>[] resolvers = parameterResolvers.computeIfAbsent(executable, this::compileParameters);
+
+        Object[] arguments = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            arguments[i] = resolvers[i].get();
+        }
+        return arguments;
+    }
+
+    private Supplier<?>[] compileParameters(Executable executable) {
+        index(executable.getDeclaringClass(), executable.getDeclaringClass());
+        return Arrays.stream(executable.getParameters())
+                .filter(parameter -> !parameter.isAnnotationPresent(ConfigValue.class))
+                .map(Parameter::getType)
+                .<Supplier<?>>map(type -> () -> resolve(type))
+                .toArray(Supplier<?>[]::new);
+    }
+
+    /**
+     * Stores the configuration value of a {@link ConfigValue} field into the target.
+     */
+    void injectConfigValue(Object target, Field field) {
+        configFieldWriters.computeIfAbsent(field, f -> {
+            index(f.getDeclaringClass(), f.getDeclaringClass());
+            return ConfigValuePoint.field(f, configuration);
+        }).write(target);
+    }
+
+    /**
+     * Registers an interceptor for every method accepted by the matcher.
+     * <p>
+     * Types with matching methods are instantiated as generated subclasses in which only the matching methods are
+     * routed through their interceptors, in registration order. Interceptors apply to instances created after they
+     * are registered, so they should be added before resolving any of the affected types.
+     * </p>
+     *
+     * @param matcher     Selects the methods to intercept.
+     * @param interceptor The interceptor to apply.
+     */
+    public void addInterceptor(Predicate<Method> matcher, MethodInterceptor interceptor) {
+        interceptors.add(new InterceptedSubclasses.Binding(matcher, interceptor));
+        interceptedConstructors.clear();
+        instantiations.clear();
+        factories.clear();
+        compiled.clear();
+    }
+
+    /**
+     * Registers an interceptor for every method annotated with the given annotation, either on the method itself
+     * or on a method of an implemented interface that it overrides.
+     *
+     * @param annotation  The annotation marking the methods to intercept.
+     * @param interceptor The interceptor to apply.
+     * @see #addInterceptor(Predicate, MethodInterceptor)
+     */
+    public void addInterceptor(Class<? extends Annotation> annotation, MethodInterceptor interceptor) {
+        addInterceptor(method -> isAnnotated(method, annotation), interceptor);
+    }
+
+    static boolean isAnnotated(Method method, Class<? extends Annotation> annotation) {
+        if (method.isAnnotationPresent(annotation)) {
+            return true;
+        }
+
+        for (Class<?> type = method.getDeclaringClass(); type != null; type = type.getSuperclass()) {
+            for (Class<?> iface : type.getInterfaces()) {
+                try {
+                    if (iface.getMethod(method.getName(), method.getParameterTypes()).isAnnotationPresent(annotation)) {
+                        return true;
+                    }
+                } catch (NoSuchMethodException e) {
+                    // Not declared by this interface
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Invokes the constructor, or the matching constructor of the generated subclass if the type has intercepted
+     * methods.
+     * <p>
+     * Each constructor is compiled once into a handle with its {@link ConfigValue} parameters bound as constants, so
+     * primitive configuration values are passed without boxing. The arguments are those of the other parameters,
+     * in order, as returned by {@link #resolveArguments(Executable)}.
+     * </p>
+     */
+    @SuppressWarnings("unchecked")
+    <T> T instantiate(Constructor<T> constructor, Object... arguments) {
+        return (T) instantiations.computeIfAbsent(constructor, c -> {
+            index(c.getDeclaringClass(), c.getDeclaringClass());
+            MethodHandle handle = constructorHandle(c, parameter -> !parameter.isAnnotationPresent(ConfigValue.class));
+            MethodHandle spread = handle.asSpreader(Object[].class, handle.type().parameterCount());
+            return HandleBridges.implement(Instantiation.class, m -> spread);
+        }).create(arguments);
+    }
+
+    /**
+     * Implemented by {@link HandleBridges} with the compiled handle of a constructor.
+     */
+    interface Instantiation {
+        Object create(Object[] arguments);
+    }
+
+    private Constructor<?> effectiveConstructor(Constructor<?> constructor) {
+        if (interceptors.isEmpty() && !AsyncDispatcher.declaresAsync(constructor.getDeclaringClass())) {
+            return constructor;
+        }
+
+        return interceptedConstructors.computeIfAbsent(constructor, c -> {
+            index(c.getDeclaringClass(), c.getDeclaringClass());
+            Class<?> subclass = InterceptedSubclasses.generate(c.getDeclaringClass(), interceptorChain());
+            if (subclass == null) {
+                return c;
+            }
+
+            try {
+                return subclass.getDeclaredConstructor(c.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                throw new InjectionException("Generated subclass of " + c.getDeclaringClass().getName() +
+                        " is missing a constructor", e);
+            }
+        });
+    }
+
+    /**
+     * Returns the interceptors applied to generated subclasses. {@link Async} dispatch comes first, so the other
+     * interceptors of an asynchronous method run on the thread it is dispatched to.
+     */
+    private List<InterceptedSubclasses.Binding> interceptorChain() {
+        List<InterceptedSubclasses.Binding> chain = new ArrayList<>(interceptors.size() + 1);
+        chain.add(asyncBinding);
+        chain.addAll(interceptors);
+        return chain;
+    }
+
+    /**
+     * Creates an implementation of a factory interface for a type with {@link Assisted} constructor parameters.
+     * <p>
+     * The factory interface must declare a single method returning the product type. Its parameters are passed to the
+     * {@link Assisted} parameters of the product's {@link Inject} constructor, in order; every other constructor
+     * parameter is supplied by the container. The implementation is generated once per factory type: singleton and
+     * configuration dependencies are bound as constants, so each factory call is a direct constructor invocation.
+     * </p>
+     *
+     * @param factoryType The factory interface.
+     * @param <F> The type of the factory.
+     * @return The factory, shared by subsequent calls for the same type.
+     * @throws InjectionException If the factory does not match the product's constructor.
+     */
+    public <F> F createFactory(Class<F> factoryType) {
+        return factoryType.cast(factories.computeIfAbsent(factoryType, this::generateFactory).value());
+    }
+
+    private Owned<Object> generateFactory(Class<?> factoryType) {
+        List<Method> methods = HandleBridges.methods(factoryType);
+        if (methods.size() != 1) {
+            throw new InjectionException("Factory " + factoryType.getName() + " must declare exactly one abstract method.");
+        }
+
+        Method method = methods.getFirst();
+        Class<?> productType = implementationOf(method.getReturnType());
+        index(factoryType, factoryType);
+        index(factoryType, productType);
+        MethodHandle handle = constructorHandle(injectConstructor(productType),
+                parameter -> parameter.isAnnotationPresent(Assisted.class));
+
+        try {
+            if (handle.type().parameterCount() != method.getParameterCount()) {
+                throw new WrongMethodTypeException();
+            }
+            return owned(HandleBridges.implement(factoryType, m -> handle), factoryType, productType);
+        } catch (WrongMethodTypeException | ClassCastException e) {
+            throw new InjectionException("Parameters of " + method + " do not match the @Assisted parameters of " +
+                    productType.getName());
         }
     }
 
+    /**
+     * Compiles the dependency graph of a type into a single supplier of new instances.
+     * <p>
+     * The type itself is instantiated like {@link Injector#createInstance(Class)} does, through its {@link Inject}
+     * constructor or its no-argument constructor. Its dependencies are resolved once, when compiling, into one
+     * composed handle: singletons and configuration values become constants, bindings are called directly and
+     * components are nested constructor calls, so getting an instance only allocates the new objects of the graph.
+     * {@link Cached} components are still taken from the instance cache on every call.
+     * </p>
+     * <p>
+     * The supplier reflects the registrations at the time of compilation and is shared by subsequent calls for the
+     * same type. Constructions through it are not recorded by the {@link BootProfiler}.
+     * </p>
+     *
+     * @param type The root type of the graph.
+     * @param <T> The root type of the graph.
+     * @return A supplier creating a new instance of the type on every call.
+     * @throws InjectionException If a dependency cannot be resolved or the graph is circular.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Supplier<T> compile(Class<T> type) {
+        return (Supplier<T>) compiled.computeIfAbsent(type, root -> {
+            Set<ClassLoader> loaders = new HashSet<>();
+            MethodHandle handle = MethodHandles.catchException(
+                    instanceHandle(root, new LinkedHashSet<>(), loaders).asType(MethodType.methodType(Object.class)),
+                    Throwable.class, CONSTRUCTION_FAILED.bindTo(root));
+            // The handle holds classes and instances of every loader in the graph, so each of them owns the supplier
+            loaders.forEach(loader -> index(root, loader));
+            return new Owned<>(new CompiledSupplier<>(root, HandleBridges.implement(CompiledSupplier.Construction.class, m -> handle)), loaders);
+        }).value();
+    }
+
+    /**
+     * Returns a handle producing what {@link #resolve(Class)} would return for the type, with the lookups done now.
+     */
+    private MethodHandle graphHandle(Class<?> type, Set<Class<?>> path, Set<ClassLoader> loaders) {
+        Owned<Supplier<?>> binding = bindings.get(type);
+        if (binding != null) {
+            loaders.addAll(binding.loaders());
+            return SUPPLIER_GET.bindTo(binding.value()).asType(MethodType.methodType(type));
+        }
+
+        if (!type.isAnnotationPresent(Component.class) && !type.isAnnotationPresent(Singleton.class)) {
+            throw new MissingAnnotationException("Class " + type.getName() + " is not annotated with @Component or @Singleton.");
+        }
+
+        Class<?> implementation = implementationOf(type);
+        if (implementation != type) {
+            return graphHandle(implementation, path, loaders).asType(MethodType.methodType(type));
+        }
+
+        if (type.isAnnotationPresent(Singleton.class)) {
+            Object instance = resolve(type);
+            addLoader(loaders, type);
+            addLoader(loaders, instance.getClass());
+            return MethodHandles.constant(type, instance);
+        }
+
+        if (type.isAnnotationPresent(Cached.class)) {
+            addLoader(loaders, type);
+            return MethodHandles.insertArguments(RESOLVE.bindTo(this), 0, type)
+                    .asType(MethodType.methodType(type));
+        }
+
+        return instanceHandle(type, path, loaders);
+    }
+
+    private MethodHandle instanceHandle(Class<?> type, Set<Class<?>> path, Set<ClassLoader> loaders) {
+        if (!path.add(type)) {
+            throw new InjectionException("Circular dependency while compiling " + type.getName() + ": " +
+                    path.stream().map(Class::getSimpleName).toList() + " -> " + type.getSimpleName());
+        }
+
+        index(type, type);
+        addLoader(loaders, type);
+        MethodHandle handle = constructorHandle(compiledConstructor(type), parameter -> false,
+                parameter -> parameter.isAnnotationPresent(ConfigValue.class)
+                        ? dependencyHandle(parameter)
+                        : graphHandle(parameter.getType(), path, loaders));
+
+        path.remove(type);
+        return handle;
+    }
+
+    private Constructor<?> compiledConstructor(Class<?> type) {
+        var annotatedConstructors = Arrays.stream(type.getDeclaredConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
+                .toList();
+
+        if (annotatedConstructors.size() > 1) {
+            throw new MultipleConstructorException("Multiple constructors annotated with @Inject found for " + type.getName() +
+                    ". Only one constructor can be annotated with @Inject.");
+        }
+
+        if (!annotatedConstructors.isEmpty()) {
+            return annotatedConstructors.getFirst();
+        }
+
+        try {
+            return type.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new MissingConstructorException("No @Inject or no-argument constructor found for " + type.getName() + ".");
+        }
+    }
+
+    private static Object constructionFailed(Class<?> type, Throwable failure) {
+        if (failure instanceof InjectionException injectionException) {
+            throw injectionException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new InjectionException("Failed to create instance for " + type.getName(), failure);
+    }
+
+    /**
+     * Builds a handle that invokes the constructor with its dependencies already applied.
+     * Parameters accepted by {@code passThrough} remain parameters of the returned handle, in their original order.
+     */
+    MethodHandle constructorHandle(Constructor<?> constructor, Predicate<Parameter> passThrough) {
+        return constructorHandle(constructor, passThrough, this::dependencyHandle);
+    }
+
+    private MethodHandle constructorHandle(Constructor<?> constructor, Predicate<Parameter> passThrough,
+                                           Function<Parameter, MethodHandle> dependencies) {
+        MethodHandle handle;
+        try {
+            Constructor<?> effective = effectiveConstructor(constructor);
+            effective.setAccessible(true);
+            handle = MethodHandles.lookup().unreflectConstructor(effective);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new InjectionException("Cannot access constructor of " + constructor.getDeclaringClass().getName(), e);
+        }
+
+        Parameter[] parameters = constructor.getParameters();
+        for (int i = parameters.length - 1; i >= 0; i--) {
+            if (!passThrough.test(parameters[i])) {
+                handle = MethodHandles.collectArguments(handle, i, dependencies.apply(parameters[i]));
+            }
+        }
+        return handle;
+    }
+
+    private MethodHandle dependencyHandle(Parameter parameter) {
+        Class<?> type = parameter.getType();
+        if (parameter.isAnnotationPresent(ConfigValue.class)) {
+            return MethodHandles.constant(type, ConfigValuePoint.argument(parameter, configuration));
+        }
+
+        Object instance = singletonInstances.get(type);
+        if (instance != null) {
+            return MethodHandles.constant(type, instance);
+        }
+
+        Owned<Supplier<?>> binding = bindings.get(type);
+        if (binding != null) {
+            return SUPPLIER_GET.bindTo(binding.value()).asType(MethodType.methodType(type));
+        }
+
+        if (implementationOf(type).isAnnotationPresent(Singleton.class)) {
+            return MethodHandles.constant(type, resolve(type));
+        }
+
+        return MethodHandles.insertArguments(RESOLVE.bindTo(this), 0, type)
+                .asType(MethodType.methodType(type));
+    }
+
+    private Constructor<?> injectConstructor(Class<?> clazz) {
+        var annotatedConstructors = Arrays.stream(clazz.getDeclaredConstructors())
+                .filter(constructor -> constructor.isAnnotationPresent(Inject.class))
+                .toList();
+
+        if (annotatedConstructors.isEmpty()) {
+            throw new MissingConstructorException("No constructor annotated with @Inject found for " + clazz.getName() + ".");
+        }
+
+        if (annotatedConstructors.size() > 1) {
+            throw new MultipleConstructorException("Multiple constructors annotated with @Inject found for " + clazz.getName() +
+                    ". Only one constructor can be annotated with @Inject.");
+        }
+
+        return annotatedConstructors.getFirst();
+    }
+
+    private Class<?> implementationOf(Class<?> type) {
+        if (type.isInterface() && componentImplementations.containsKey(type)) {
+            return componentImplementations.get(type);
+        }
+        return type;
+    }
+
     /**
      * Checks if a class is registered as a singleton.
      *
@@ -164,23 +1066,49 @@ public class InjectorContainer {
     /**
      * Scans the specified package for classes annotated with @Component or @Singleton
      * and registers them automatically.
+     * <p>
+     * Classes annotated with {@link ConditionalOnProperty} or {@link ConditionalOnClass} are skipped, without being
+     * initialized or instantiated, when their conditions do not hold. Classes annotated with {@link ConditionalOnMissingBean} are
+     * registered last, and only if nothing else in the scan bound their types.
+     * </p>
      *
      * @param packageName The package name to scan
      */
     public void scanPackage(String packageName) {
+        scanPackage(packageName, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Scans the specified package of a class loader, such as a plugin's, and registers its classes the same way as
+     * {@link #scanPackage(String)}. Everything registered from the loader can be released with
+     * {@link #unregister(ClassLoader)}.
+     *
+     * @param packageName The package name to scan
+     * @param classLoader The class loader to find and load the classes with
+     */
+    public void scanPackage(String packageName, ClassLoader classLoader) {
         try {
-            List<Class<?>> classes = findClasses(packageName);
+            List<Class<?>> classes = findClasses(packageName, classLoader);
+            List<Class<?>> fallbacks = new ArrayList<>();
 
             for (Class<?> clazz : classes) {
                 if (clazz.isAnnotationPresent(Component.class) || clazz.isAnnotationPresent(Singleton.class)) {
+                    if (!Conditions.matchesEnvironment(clazz, configuration)) {
+                        continue;
+                    }
 
-                    // Register for concrete classes
-                    registerSingleton(clazz);
-
-                    // Also register the component for each interface it implements
-                    for (Class<?> iface : clazz.getInterfaces()) {
-                        componentImplementations.put(iface, clazz);
+                    if (clazz.isAnnotationPresent(ConditionalOnMissingBean.class)) {
+                        fallbacks.add(clazz);
+                        continue;
                     }
+
+                    registerScanned(clazz);
+                }
+            }
+
+            for (Class<?> clazz : fallbacks) {
+                if (Arrays.stream(Conditions.missingBeanTypes(clazz)).noneMatch(this::hasBinding)) {
+                    registerScanned(clazz);
                 }
             }
         } catch (Exception e) {
@@ -188,8 +1116,25 @@ public class InjectorContainer {
         }
     }
 
-    private List<Class<?>> findClasses(String packageName) throws IOException {
-        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    private void registerScanned(Class<?> clazz) {
+        // Register for concrete classes
+        registerSingleton(clazz);
+
+        // Also register the component for each interface it implements
+        for (Class<?> iface : clazz.getInterfaces()) {
+            componentImplementations.put(iface, clazz);
+            index(iface, clazz);
+        }
+    }
+
+    private boolean hasBinding(Class<?> type) {
+        return singletonInstances.containsKey(type)
+                || bindings.containsKey(type)
+                || componentImplementations.containsKey(type)
+                || componentImplementations.containsValue(type);
+    }
+
+    private List<Class<?>> findClasses(String packageName, ClassLoader classLoader) throws IOException {
         String path = packageName.replace('.', '/');
         Enumeration<URL> resources = classLoader.getResources(path);
         List<File> dirs = new ArrayList<>();
@@ -201,13 +1146,13 @@ public class InjectorContainer {
 
         List<Class<?>> classes = new ArrayList<>();
         for (File directory : dirs) {
-            classes.addAll(findClasses(directory, packageName));
+            classes.addAll(findClasses(directory, packageName, classLoader));
         }
 
         return classes;
     }
 
-    private List<Class<?>> findClasses(File directory, String packageName) {
+    private List<Class<?>> findClasses(File directory, String packageName, ClassLoader classLoader) {
         List<Class<?>> classes = new ArrayList<>();
         if (!directory.exists()) {
             return classes;
@@ -220,11 +1165,12 @@ public class InjectorContainer {
 
         for (File file : files) {
             if (file.isDirectory()) {
-                classes.addAll(findClasses(file, packageName + "." + file.getName()));
+                classes.addAll(findClasses(file, packageName + "." + file.getName(), classLoader));
             } else if (file.getName().endsWith(".class")) {
                 String className = packageName + '.' + file.getName().substring(0, file.getName().length() - 6);
                 try {
-                    Class<?> clazz = Class.forName(className);
+                    // Loaded without initialization, so the static initializers of beans whose conditions fail never run
+                    Class<?> clazz = Class.forName(className, false, classLoader);
                     classes.add(clazz);
                 } catch (ClassNotFoundException e) {
                     // Skip if class cannot be loaded
@@ -235,6 +1181,113 @@ public class InjectorContainer {
         return classes;
     }
 
+    /**
+     * Releases everything this container holds for classes of the given class loader.
+     * <p>
+     * Bindings, singletons, cached instances, generated factories and compiled injection points of the loader's
+     * classes are dropped, and interface registrations pointing to them are removed. Registrations made with classes of
+     * other loaders are kept, even for types the plugin also implements. Released singletons and cached
+     * instances that implement {@link AutoCloseable} are closed. The container keeps an index of the types it has
+     * seen per class loader, so the work is proportional to the size of the plugin, not of the container.
+     * Once its classes are no longer referenced elsewhere, the loader can be garbage collected.
+     * </p>
+     *
+     * @param classLoader The class loader to release, typically a plugin's.
+     */
+    public void unregister(ClassLoader classLoader) {
+        BootProfiler profiler = this.profiler;
+        if (profiler != null) {
+            profiler.forget(classLoader);
+        }
+
+        Set<Class<?>> types = typesByLoader.remove(classLoader);
+        if (types == null) {
+            return;
+        }
+
+        for (Class<?> type : types) {
+            Object singleton = singletonInstances.get(type);
+            if (singleton != null && (type.getClassLoader() == classLoader || singleton.getClass().getClassLoader() == classLoader)) {
+                singletonInstances.remove(type);
+                close(singleton);
+            }
+
+            Class<?> implementation = componentImplementations.get(type);
+            if (implementation != null && (type.getClassLoader() == classLoader || implementation.getClassLoader() == classLoader)) {
+                componentImplementations.remove(type);
+            }
+
+            bindings.computeIfPresent(type, (key, binding) -> binding.ownedBy(classLoader) ? null : binding);
+            factories.computeIfPresent(type, (key, factory) -> factory.ownedBy(classLoader) ? null : factory);
+            compiled.computeIfPresent(type, (key, supplier) -> supplier.ownedBy(classLoader) ? null : supplier);
+            if (type.getClassLoader() == classLoader) {
+                instanceCache.evict(type);
+            }
+            configuration.forget(type);
+
+            for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+                parameterResolvers.remove(constructor);
+                interceptedConstructors.remove(constructor);
+                instantiations.remove(constructor);
+            }
+            for (Field field : type.getDeclaredFields()) {
+                configFieldWriters.remove(field);
+            }
+        }
+
+        ResolutionRecorder recorder = this.recorder;
+        if (recorder != null) {
+            recorder.forget(types);
+        }
+        ConstructionWatchdog watchdog = this.watchdog;
+        if (watchdog != null) {
+            watchdog.forget(types);
+        }
+    }
+
+    private void index(Class<?> type, Class<?> owner) {
+        index(type, owner.getClassLoader());
+    }
+
+    private void index(Class<?> type, ClassLoader classLoader) {
+        if (classLoader != null) {
+            typesByLoader.computeIfAbsent(classLoader, loader -> ConcurrentHashMap.newKeySet()).add(type);
+        }
+    }
+
+    private static <V> Owned<V> owned(V value, Class<?>... owners) {
+        Set<ClassLoader> loaders = new HashSet<>();
+        for (Class<?> owner : owners) {
+            addLoader(loaders, owner);
+        }
+        return new Owned<>(value, loaders);
+    }
+
+    private static void addLoader(Set<ClassLoader> loaders, Class<?> owner) {
+        if (owner.getClassLoader() != null) {
+            loaders.add(owner.getClassLoader());
+        }
+    }
+
+    /**
+     * A registration together with the class loaders whose classes it was created from.
+     */
+    private record Owned<V>(V value, Set<ClassLoader> loaders) {
+        boolean ownedBy(ClassLoader classLoader) {
+            return loaders.contains(classLoader);
+        }
+    }
+
+    private static void close(Object instance) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                System.out.println("Warning: Failed to close " + instance.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
     public boolean hasImplementation(Class<?> interfaceType) {
         return componentImplementations.containsKey(interfaceType);
     }
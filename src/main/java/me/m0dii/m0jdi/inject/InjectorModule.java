@@ -0,0 +1,18 @@
+package me.m0dii.m0jdi.inject;
+
+/**
+ * A unit of programmatic bindings, installed into a container with {@link InjectorContainer#install(InjectorModule...)}.
+ * <p>
+ * Modules bind types without annotations or classpath scanning, which makes them the way to register third-party
+ * classes, prebuilt instances and suppliers. A module can install other modules through its {@link Binder}.
+ * </p>
+ */
+@FunctionalInterface
+public interface InjectorModule {
+    /**
+     * Declares the bindings of this module.
+     *
+     * @param binder The binder to register bindings with.
+     */
+    void configure(Binder binder);
+}
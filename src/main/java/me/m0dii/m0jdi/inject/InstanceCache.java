@@ -0,0 +1,245 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.annotations.Cached;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The bounded cache backing the {@link Cached} lifecycle.
+ * <p>
+ * Lookups read the underlying {@link ConcurrentHashMap} without locking. Each type is constructed by one thread at a
+ * time: a thread missing while another builds the same type waits for that instance instead of building its own.
+ * Instances are constructed outside the map, so a cached component may resolve other cached components while it is
+ * being built. The entry being returned is never evicted to make room, and a maximum size of zero disables caching.
+ * </p>
+ */
+final class InstanceCache {
+    private final Map<Class<?>, Entry> entries = new ConcurrentHashMap<>();
+    private final SingleFlight constructions = new SingleFlight();
+    private final ReferenceQueue<Object> reclaimed = new ReferenceQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile int maximumSize;
+
+    InstanceCache(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    void setMaximumSize(int maximumSize) {
+        this.maximumSize = maximumSize;
+        trimToSize(null);
+    }
+
+    <T> T get(Class<T> type, Cached policy, Supplier<T> factory) {
+        drainReclaimed();
+
+        T cached = lookup(type);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (maximumSize == 0) {
+            misses.increment();
+            return factory.get();
+        }
+
+        return constructions.run(type, () -> lookup(type), () -> {
+            misses.increment();
+            T instance = factory.get();
+
+            long created = System.nanoTime();
+            long ttl = policy.ttl() > 0 ? policy.unit().toNanos(policy.ttl()) : 0;
+            Entry entry = policy.soft()
+                    ? new SoftEntry(type, instance, reclaimed, created, ttl)
+                    : new StrongEntry(instance, created, ttl);
+
+            Entry previous = entries.put(type, entry);
+            if (previous != null) {
+                dispose(previous.get());
+            }
+
+            trimToSize(type);
+            return instance;
+        });
+    }
+
+    /**
+     * Returns the cached instance if it is still valid, disposing it otherwise.
+     */
+    private <T> T lookup(Class<T> type) {
+        Entry entry = entries.get(type);
+        if (entry == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        Object instance = entry.get();
+        if (instance != null && !entry.isExpired(now)) {
+            entry.touch(now);
+            hits.increment();
+            return type.cast(instance);
+        }
+
+        if (entries.remove(type, entry)) {
+            dispose(instance);
+        }
+        return null;
+    }
+
+    boolean evict(Class<?> type) {
+        Entry entry = entries.remove(type);
+        if (entry == null) {
+            return false;
+        }
+
+        dispose(entry.get());
+        return true;
+    }
+
+    Map<Class<?>, Object> instances() {
+        Map<Class<?>, Object> instances = new LinkedHashMap<>();
+        entries.forEach((type, entry) -> {
+            Object instance = entry.get();
+            if (instance != null) {
+                instances.put(type, instance);
+            }
+        });
+        return instances;
+    }
+
+    CacheStats stats() {
+        drainReclaimed();
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    /**
+     * Evicts the least recently used entries until the cache fits its maximum size, never evicting {@code keep}.
+     */
+    private void trimToSize(Class<?> keep) {
+        while (entries.size() > maximumSize) {
+            Map.Entry<Class<?>, Entry> oldest = null;
+            for (Map.Entry<Class<?>, Entry> candidate : entries.entrySet()) {
+                if (candidate.getKey() == keep) {
+                    continue;
+                }
+                if (oldest == null || candidate.getValue().lastAccess() < oldest.getValue().lastAccess()) {
+                    oldest = candidate;
+                }
+            }
+
+            if (oldest == null) {
+                return;
+            }
+            if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                dispose(oldest.getValue().get());
+            }
+        }
+    }
+
+    private void drainReclaimed() {
+        Reference<?> reference;
+        while ((reference = reclaimed.poll()) != null) {
+            SoftEntry entry = (SoftEntry) reference;
+            if (entries.remove(entry.type, entry)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private void dispose(Object instance) {
+        evictions.increment();
+
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                System.out.println("Warning: Failed to close evicted instance of " + instance.getClass().getSimpleName() +
+                        ": " + e.getMessage());
+            }
+        }
+    }
+
+    private interface Entry {
+        Object get();
+
+        boolean isExpired(long now);
+
+        long lastAccess();
+
+        void touch(long now);
+    }
+
+    private static final class StrongEntry implements Entry {
+        private final Object instance;
+        private final long created;
+        private final long ttl;
+        private volatile long lastAccess;
+
+        private StrongEntry(Object instance, long created, long ttl) {
+            this.instance = instance;
+            this.created = created;
+            this.ttl = ttl;
+            this.lastAccess = created;
+        }
+
+        @Override
+        public Object get() {
+            return instance;
+        }
+
+        @Override
+        public boolean isExpired(long now) {
+            return ttl > 0 && now - created >= ttl;
+        }
+
+        @Override
+        public long lastAccess() {
+            return lastAccess;
+        }
+
+        @Override
+        public void touch(long now) {
+            lastAccess = now;
+        }
+    }
+
+    private static final class SoftEntry extends SoftReference<Object> implements Entry {
+        private final Class<?> type;
+        private final long created;
+        private final long ttl;
+        private volatile long lastAccess;
+
+        private SoftEntry(Class<?> type, Object instance, ReferenceQueue<Object> queue, long created, long ttl) {
+            super(instance, queue);
+            this.type = type;
+            this.created = created;
+            this.ttl = ttl;
+            this.lastAccess = created;
+        }
+
+        @Override
+        public boolean isExpired(long now) {
+            return ttl > 0 && now - created >= ttl;
+        }
+
+        @Override
+        public long lastAccess() {
+            return lastAccess;
+        }
+
+        @Override
+        public void touch(long now) {
+            lastAccess = now;
+        }
+    }
+}
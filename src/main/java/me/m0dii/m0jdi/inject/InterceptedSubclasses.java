@@ -0,0 +1,221 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.intercept.MethodInterceptor;
+import me.m0dii.m0jdi.intercept.MethodInvocation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Generates subclasses that route intercepted methods through their {@link MethodInterceptor} chains.
+ * <p>
+ * The generated class is a hidden nestmate of the intercepted type. It mirrors every constructor of the type and
+ * overrides only the methods that have at least one interceptor; each override is a single {@code invokeExact} on a
+ * static final handle. Methods without interceptors are not overridden, so calls to them stay direct calls.
+ * </p>
+ */
+final class InterceptedSubclasses {
+    private static final MethodHandle DISPATCH;
+
+    static {
+        try {
+            DISPATCH = MethodHandles.lookup().findStatic(InterceptedSubclasses.class, "dispatch",
+                    MethodType.methodType(Object.class, MethodInterceptor[].class, Method.class, MethodHandle.class,
+                            Object.class, Object[].class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private InterceptedSubclasses() {
+    }
+
+    record Binding(Predicate<Method> matcher, MethodInterceptor interceptor) {
+    }
+
+    /**
+     * Returns the generated subclass of the type, or {@code null} if none of its methods are intercepted.
+     */
+    static Class<?> generate(Class<?> type, List<Binding> bindings) {
+        Map<Method, MethodInterceptor[]> intercepted = new LinkedHashMap<>();
+        for (Method method : overridableMethods(type)) {
+            MethodInterceptor[] chain = bindings.stream()
+                    .filter(binding -> binding.matcher().test(method))
+                    .map(Binding::interceptor)
+                    .toArray(MethodInterceptor[]::new);
+            if (chain.length > 0) {
+                intercepted.put(method, chain);
+            }
+        }
+
+        if (intercepted.isEmpty()) {
+            return null;
+        }
+
+        if (Modifier.isFinal(type.getModifiers()) || type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            throw new InjectionException("Cannot intercept methods of " + type.getName() +
+                    ". Intercepted classes must be concrete and not final.");
+        }
+
+        List<Method> methods = List.copyOf(intercepted.keySet());
+        String name = ClassFile.internalName(type) + "$$Intercepted";
+        MethodHandle[] handles = new MethodHandle[methods.size()];
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .defineHiddenClassWithClassData(classFile(name, type, methods), handles, false,
+                            MethodHandles.Lookup.ClassOption.NESTMATE);
+            Class<?> subclass = lookup.lookupClass();
+
+            for (int i = 0; i < handles.length; i++) {
+                Method method = methods.get(i);
+                MethodHandle superCall = lookup.findVirtual(subclass, "super$" + i,
+                                MethodType.methodType(method.getReturnType(), method.getParameterTypes()))
+                        .asType(MethodType.methodType(Object.class, Object.class).appendParameterTypes(
+                                erase(method.getParameterTypes())))
+                        .asSpreader(Object[].class, method.getParameterCount());
+
+                handles[i] = MethodHandles.insertArguments(DISPATCH, 0, intercepted.get(method), method, superCall)
+                        .asCollector(Object[].class, method.getParameterCount())
+                        .asType(MethodType.methodType(method.getReturnType(), type)
+                                .appendParameterTypes(method.getParameterTypes()));
+            }
+
+            return subclass;
+        } catch (ReflectiveOperationException | IllegalArgumentException | LinkageError e) {
+            throw new InjectionException("Failed to generate intercepted subclass of " + type.getName(), e);
+        }
+    }
+
+    private static Class<?>[] erase(Class<?>[] types) {
+        Class<?>[] erased = new Class<?>[types.length];
+        Arrays.fill(erased, Object.class);
+        return erased;
+    }
+
+    private static List<Method> overridableMethods(Class<?> type) {
+        Map<String, Method> methods = new LinkedHashMap<>();
+        Set<String> seen = new HashSet<>();
+
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || method.isSynthetic()) {
+                    continue;
+                }
+
+                String key = method.getName() + HandleBridges.descriptor(method);
+                if (!seen.add(key)) {
+                    continue;
+                }
+
+                boolean visible = Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers);
+                if (visible && !Modifier.isFinal(modifiers)) {
+                    methods.put(key, method);
+                }
+            }
+        }
+
+        return List.copyOf(methods.values());
+    }
+
+    private static byte[] classFile(String name, Class<?> type, List<Method> methods) {
+        String superName = ClassFile.internalName(type);
+        ClassFile file = new ClassFile(name, superName);
+
+        ClassFile.Code clinit = new ClassFile.Code(3, 1)
+                .op(ClassFile.INVOKESTATIC, file.pool.methodRef("java/lang/invoke/MethodHandles", "lookup",
+                        "()Ljava/lang/invoke/MethodHandles$Lookup;"))
+                .op(ClassFile.LDC_W, file.pool.string("_"))
+                .op(ClassFile.LDC_W, file.pool.classRef("[" + ClassFile.HANDLE_DESCRIPTOR))
+                .op(ClassFile.INVOKESTATIC, file.pool.methodRef("java/lang/invoke/MethodHandles", "classData",
+                        "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;"))
+                .op(ClassFile.CHECKCAST, file.pool.classRef("[" + ClassFile.HANDLE_DESCRIPTOR))
+                .op(ClassFile.ASTORE_0);
+        for (int i = 0; i < methods.size(); i++) {
+            file.field(ClassFile.ACC_PRIVATE | ClassFile.ACC_STATIC | ClassFile.ACC_FINAL, "h" + i, ClassFile.HANDLE_DESCRIPTOR);
+            clinit.op(ClassFile.ALOAD_0).intConstant(i).op(ClassFile.AALOAD)
+                    .op(ClassFile.PUTSTATIC, file.pool.fieldRef(name, "h" + i, ClassFile.HANDLE_DESCRIPTOR));
+        }
+        clinit.op(ClassFile.RETURN);
+        file.method(ClassFile.ACC_STATIC, "<clinit>", "()V", clinit);
+
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            Class<?>[] parameters = constructor.getParameterTypes();
+            String descriptor = MethodType.methodType(void.class, parameters).toMethodDescriptorString();
+            int locals = 1 + ClassFile.slotSize(parameters);
+
+            ClassFile.Code body = new ClassFile.Code(locals, locals)
+                    .op(ClassFile.ALOAD_0)
+                    .loadArguments(parameters, 1)
+                    .op(ClassFile.INVOKESPECIAL, file.pool.methodRef(superName, "<init>", descriptor))
+                    .op(ClassFile.RETURN);
+            file.method(ClassFile.ACC_PUBLIC, "<init>", descriptor, body);
+        }
+
+        for (int i = 0; i < methods.size(); i++) {
+            Method method = methods.get(i);
+            Class<?>[] parameters = method.getParameterTypes();
+            Class<?> returnType = method.getReturnType();
+            String descriptor = HandleBridges.descriptor(method);
+            String handleDescriptor = MethodType.methodType(returnType, type).appendParameterTypes(parameters)
+                    .toMethodDescriptorString();
+            int locals = 1 + ClassFile.slotSize(parameters);
+
+            ClassFile.Code override = new ClassFile.Code(Math.max(locals + 1, ClassFile.slotSize(returnType)), locals)
+                    .op(ClassFile.GETSTATIC, file.pool.fieldRef(name, "h" + i, ClassFile.HANDLE_DESCRIPTOR))
+                    .op(ClassFile.ALOAD_0)
+                    .loadArguments(parameters, 1)
+                    .op(ClassFile.INVOKEVIRTUAL, file.pool.methodRef(ClassFile.HANDLE, "invokeExact", handleDescriptor))
+                    .returnValue(returnType);
+            file.method(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL, method.getName(), descriptor, override);
+
+            ClassFile.Code superCall = new ClassFile.Code(Math.max(locals, ClassFile.slotSize(returnType)), locals)
+                    .op(ClassFile.ALOAD_0)
+                    .loadArguments(parameters, 1)
+                    .op(ClassFile.INVOKESPECIAL, file.pool.methodRef(superName, method.getName(), descriptor))
+                    .returnValue(returnType);
+            file.method(ClassFile.ACC_PUBLIC | ClassFile.ACC_FINAL, "super$" + i, descriptor, superCall);
+        }
+
+        return file.toByteArray();
+    }
+
+    private static Object dispatch(MethodInterceptor[] chain, Method method, MethodHandle target,
+                                   Object self, Object[] arguments) throws Throwable {
+        return chain[0].intercept(new Invocation(chain, 1, method, target, self, arguments));
+    }
+
+    private record Invocation(MethodInterceptor[] chain, int position, Method method, MethodHandle target,
+                              Object self, Object[] arguments) implements MethodInvocation {
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public Object getTarget() {
+            return self;
+        }
+
+        @Override
+        public Object[] getArguments() {
+            return arguments;
+        }
+
+        @Override
+        public Object proceed() throws Throwable {
+            if (position < chain.length) {
+                return chain[position].intercept(new Invocation(chain, position + 1, method, target, self, arguments));
+            }
+            return target.invokeExact(self, arguments);
+        }
+    }
+}
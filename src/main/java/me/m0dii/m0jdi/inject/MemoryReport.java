@@ -0,0 +1,78 @@
+package me.m0dii.m0jdi.inject;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Estimated heap footprint of the instances managed by a container, ranked by retained size.
+ * <p>
+ * Created by {@link InjectorContainer#estimateMemory()}. Sizes assume a 64-bit JVM with compressed references and
+ * are estimates: objects whose fields cannot be read reflectively are sized from their layout, and collections of
+ * the JDK are sized from their elements.
+ * </p>
+ */
+public final class MemoryReport {
+    private final List<Entry> entries;
+    private final long sharedBytes;
+
+    MemoryReport(List<Entry> entries, long sharedBytes) {
+        this.entries = List.copyOf(entries);
+        this.sharedBytes = sharedBytes;
+    }
+
+    /**
+     * Returns the measured instances, largest retained size first.
+     *
+     * @return The report entries.
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the summed retained size of all measured instances, excluding shared objects.
+     *
+     * @return The total retained size in bytes.
+     */
+    public long getTotalRetainedBytes() {
+        return entries.stream().mapToLong(Entry::retainedBytes).sum();
+    }
+
+    /**
+     * Returns the size of objects reachable from more than one managed instance.
+     * These objects are not attributed to any single entry.
+     *
+     * @return The shared size in bytes.
+     */
+    public long getSharedBytes() {
+        return sharedBytes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "%-60s %14s %14s %10s%n",
+                "Type", "Retained", "Shared", "Objects"));
+        for (Entry entry : entries) {
+            report.append(String.format(Locale.ROOT, "%-60s %14d %14d %10d%s%n",
+                    entry.type().getName() + (entry.cached() ? " (cached)" : ""),
+                    entry.retainedBytes(), entry.sharedBytes(), entry.objectCount(),
+                    entry.truncated() ? " (truncated)" : ""));
+        }
+        return report.append(String.format(Locale.ROOT, "Total retained: %d bytes, shared: %d bytes%n",
+                getTotalRetainedBytes(), sharedBytes)).toString();
+    }
+
+    /**
+     * The estimated footprint of one managed instance.
+     *
+     * @param type          The type the instance is registered under.
+     * @param cached        Whether the instance lives in the {@code @Cached} instance cache rather than as a singleton.
+     * @param retainedBytes The size of the instance and every object only it reaches.
+     * @param sharedBytes   The size of reachable objects that other managed instances also reach.
+     * @param objectCount   The number of objects reached, including shared ones.
+     * @param truncated     Whether the walk stopped at the depth or object limit.
+     */
+    public record Entry(Class<?> type, boolean cached, long retainedBytes, long sharedBytes, int objectCount,
+                        boolean truncated) {
+    }
+}
@@ -0,0 +1,84 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records which types a container resolves during a time window, and when each was first requested.
+ * <p>
+ * The recording is saved as a resolution profile: a text file with one line per type, holding the milliseconds since
+ * the recording started and the class name, in the order the types were first requested. Lines starting with
+ * {@code #} are comments.
+ * </p>
+ */
+final class ResolutionRecorder {
+    private static final String HEADER = "# m0jDI resolution profile: <millis since start> <class name>";
+
+    private final long start = System.nanoTime();
+    private final long deadline;
+    private final Map<Class<?>, Long> firstSeen = new ConcurrentHashMap<>();
+
+    ResolutionRecorder(long windowNanos) {
+        this.deadline = start + windowNanos;
+    }
+
+    void record(Class<?> type) {
+        long now = System.nanoTime();
+        if (now - deadline < 0 && !firstSeen.containsKey(type)) {
+            firstSeen.putIfAbsent(type, now - start);
+        }
+    }
+
+    void forget(Set<Class<?>> types) {
+        types.forEach(firstSeen::remove);
+    }
+
+    void save(Path file) {
+        List<Map.Entry<Class<?>, Long>> entries = new ArrayList<>(firstSeen.entrySet());
+        entries.sort(Map.Entry.comparingByValue());
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<Class<?>, Long> entry : entries) {
+                writer.write(entry.getValue() / 1_000_000 + " " + entry.getKey().getName());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new InjectionException("Failed to save resolution profile to " + file, e);
+        }
+    }
+
+    /**
+     * Reads the class names of a resolution profile, in the order they were first requested.
+     */
+    static List<String> load(Path file) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(file);
+        } catch (IOException e) {
+            throw new InjectionException("Failed to load resolution profile from " + file, e);
+        }
+
+        List<String> classNames = new ArrayList<>();
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = trimmed.split("\\s+");
+            if (parts.length != 2) {
+                throw new InjectionException("Malformed resolution profile line in " + file + ": " + line);
+            }
+            classNames.add(parts[1]);
+        }
+        return classNames;
+    }
+}
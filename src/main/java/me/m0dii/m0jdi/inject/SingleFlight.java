@@ -0,0 +1,81 @@
+package me.m0dii.m0jdi.inject;
+
+import me.m0dii.m0jdi.exception.InjectionException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Makes sure each type is constructed by at most one thread at a time.
+ * <p>
+ * The first thread to miss a type constructs it; threads missing the same type meanwhile wait for that result instead
+ * of constructing their own. Only threads missing the same type wait for each other, so a constructor may resolve
+ * other types, on its own thread or on others. A thread requesting a type it is already constructing is a circular
+ * dependency and fails instead of waiting for itself. A cycle across threads, where one thread constructs X and needs
+ * Y while another constructs Y and needs X, is not detected and blocks both threads.
+ * </p>
+ * <p>
+ * Waiting is interruptible, so a construction budget with {@link ConstructionTimeoutPolicy#FAIL} also ends a wait
+ * for another thread's construction.
+ * </p>
+ */
+final class SingleFlight {
+    private final Map<Class<?>, Flight> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the instance found by {@code existing} or built by {@code construction}, constructing at most once
+     * across concurrent callers for the same type.
+     *
+     * @param existing     Looks up an instance that is already available, returning {@code null} if there is none.
+     *                     It is checked again after the type was claimed, to catch constructions that just finished.
+     * @param construction Builds and publishes the instance.
+     */
+    <T> T run(Class<T> type, Supplier<T> existing, Supplier<T> construction) {
+        Flight mine = new Flight(Thread.currentThread(), new CompletableFuture<>());
+        Flight inFlight = flights.putIfAbsent(type, mine);
+        if (inFlight != null) {
+            return type.cast(await(type, inFlight));
+        }
+
+        try {
+            T instance = existing.get();
+            if (instance == null) {
+                instance = construction.get();
+            }
+            mine.future.complete(instance);
+            return instance;
+        } catch (RuntimeException | Error e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(type, mine);
+        }
+    }
+
+    private static Object await(Class<?> type, Flight inFlight) {
+        if (inFlight.owner == Thread.currentThread()) {
+            throw new InjectionException("Circular dependency while constructing " + type.getName());
+        }
+
+        try {
+            return inFlight.future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InjectionException("Interrupted while waiting for the construction of " + type.getName(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new InjectionException("Failed to construct " + type.getName(), e.getCause());
+        }
+    }
+
+    private record Flight(Thread owner, CompletableFuture<Object> future) {
+    }
+}
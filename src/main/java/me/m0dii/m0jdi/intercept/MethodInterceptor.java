@@ -0,0 +1,22 @@
+package me.m0dii.m0jdi.intercept;
+
+/**
+ * Wraps calls to methods of container-managed instances.
+ * <p>
+ * Interceptors are registered on an {@code InjectorContainer} together with a method matcher. Types with matching
+ * methods are instantiated as generated subclasses that route only those methods through their interceptors;
+ * all other methods are inherited unchanged and called directly.
+ * </p>
+ */
+@FunctionalInterface
+public interface MethodInterceptor {
+    /**
+     * Handles a call to an intercepted method.
+     * Call {@link MethodInvocation#proceed()} to continue with the next interceptor or the method itself.
+     *
+     * @param invocation The intercepted call.
+     * @return The value to return to the caller. Ignored for {@code void} methods.
+     * @throws Throwable Any exception, which is propagated to the caller.
+     */
+    Object intercept(MethodInvocation invocation) throws Throwable;
+}
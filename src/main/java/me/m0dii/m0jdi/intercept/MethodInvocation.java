@@ -0,0 +1,38 @@
+package me.m0dii.m0jdi.intercept;
+
+import java.lang.reflect.Method;
+
+/**
+ * A call to an intercepted method, as seen by a {@link MethodInterceptor}.
+ */
+public interface MethodInvocation {
+    /**
+     * Returns the intercepted method.
+     *
+     * @return The method declared by the intercepted type.
+     */
+    Method getMethod();
+
+    /**
+     * Returns the instance the method was called on.
+     *
+     * @return The intercepted instance.
+     */
+    Object getTarget();
+
+    /**
+     * Returns the arguments of the call. Changes to the array are seen by {@link #proceed()}.
+     *
+     * @return The arguments, with primitives boxed.
+     */
+    Object[] getArguments();
+
+    /**
+     * Continues with the next interceptor, or invokes the original method if this is the last one.
+     * May be called more than once, for example to retry.
+     *
+     * @return The result of the call.
+     * @throws Throwable Any exception thrown by the next interceptor or the method.
+     */
+    Object proceed() throws Throwable;
+}
@@ -0,0 +1,98 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Injected;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.inject.Injector;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AmbientContainerTest {
+    @Singleton
+    public static class Metrics {
+    }
+
+    public static class Handler {
+        private final Metrics metrics;
+
+        @Inject
+        public Handler(Metrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+
+    public static class Client {
+        @Injected
+        private Metrics metrics;
+    }
+
+    @Test
+    void testStaticEntryPointsShareBoundContainer() {
+        InjectorContainer container = new InjectorContainer();
+
+        Injector.runWith(container, () -> {
+            Handler first = Injector.create(Handler.class);
+            Handler second = Injector.create(Handler.class);
+            Client client = new Client();
+            Injector.inject(client);
+
+            assertSame(container, Injector.ambientContainer());
+            assertSame(first.metrics, second.metrics);
+            assertSame(first.metrics, client.metrics);
+            assertSame(container.resolve(Metrics.class), client.metrics);
+        });
+    }
+
+    @Test
+    void testBindingIsScoped() throws Exception {
+        InjectorContainer outer = new InjectorContainer();
+        InjectorContainer inner = new InjectorContainer();
+
+        Metrics innerMetrics = Injector.callWith(outer, () -> {
+            Metrics metrics = Injector.callWith(inner, () -> Injector.create(Handler.class).metrics);
+            assertSame(outer, Injector.ambientContainer());
+            return metrics;
+        });
+
+        assertSame(inner.resolve(Metrics.class), innerMetrics);
+        assertNotSame(outer.resolve(Metrics.class), innerMetrics);
+        assertNotSame(Injector.ambientContainer(), Injector.ambientContainer());
+    }
+
+    @Test
+    void testVirtualThreadHandlersShareSingletons() throws Exception {
+        InjectorContainer container = new InjectorContainer();
+        List<Future<Metrics>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> Injector.callWith(container, () -> Injector.create(Handler.class).metrics)));
+            }
+        }
+
+        Metrics metrics = container.resolve(Metrics.class);
+        for (Future<Metrics> result : results) {
+            assertSame(metrics, result.get());
+        }
+    }
+
+    @Test
+    void testDefaultContainerIsUsedWhenNoneIsBound() {
+        InjectorContainer container = new InjectorContainer();
+        Injector.setDefaultContainer(container);
+        try {
+            assertSame(Injector.create(Handler.class).metrics, Injector.create(Handler.class).metrics);
+            assertSame(container, Injector.ambientContainer());
+        } finally {
+            Injector.setDefaultContainer(null);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.*;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.ConfigurationSnapshot;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssistedFactoryTest {
+    @Singleton
+    public static class AuditLog {
+    }
+
+    @Component
+    public static class Serializer {
+    }
+
+    public static class RequestHandler {
+        private final AuditLog auditLog;
+        private final String requestId;
+        private final Serializer serializer;
+        private final long payloadSize;
+        private final int retries;
+
+        @Inject
+        public RequestHandler(AuditLog auditLog, @Assisted String requestId, Serializer serializer,
+                              @Assisted long payloadSize, @ConfigValue("handler.retries") int retries) {
+            this.auditLog = auditLog;
+            this.requestId = requestId;
+            this.serializer = serializer;
+            this.payloadSize = payloadSize;
+            this.retries = retries;
+        }
+    }
+
+    public interface RequestHandlerFactory {
+        RequestHandler create(String requestId, long payloadSize);
+    }
+
+    public interface MismatchedFactory {
+        RequestHandler create(long payloadSize, String requestId);
+    }
+
+    private static InjectorContainer container() {
+        InjectorContainer container = new InjectorContainer();
+        container.setConfiguration(ConfigurationSnapshot.of(Map.of("handler.retries", "3")));
+        return container;
+    }
+
+    @Test
+    void testFactoryMergesRuntimeArgumentsWithDependencies() {
+        InjectorContainer container = container();
+        RequestHandlerFactory factory = container.createFactory(RequestHandlerFactory.class);
+
+        RequestHandler first = factory.create("req-1", 512L);
+        RequestHandler second = factory.create("req-2", 1024L);
+
+        assertEquals("req-1", first.requestId);
+        assertEquals(512L, first.payloadSize);
+        assertEquals(3, first.retries);
+        assertEquals("req-2", second.requestId);
+        assertSame(container.resolve(AuditLog.class), first.auditLog);
+        assertSame(first.auditLog, second.auditLog);
+        assertNotSame(first.serializer, second.serializer);
+    }
+
+    @Test
+    void testFactoryIsGeneratedOnce() {
+        InjectorContainer container = container();
+
+        assertSame(container.createFactory(RequestHandlerFactory.class), container.createFactory(RequestHandlerFactory.class));
+    }
+
+    @Test
+    void testMismatchedFactoryIsRejected() {
+        InjectorContainer container = container();
+
+        assertThrows(InjectionException.class, () -> container.createFactory(MismatchedFactory.class));
+    }
+}
@@ -0,0 +1,173 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Async;
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncTest {
+    @Singleton
+    public static class Notifier {
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private volatile Thread sender;
+
+        @Async
+        public void send(String message) throws InterruptedException {
+            release.await();
+            sender = Thread.currentThread();
+            sent.countDown();
+        }
+
+        @Async
+        public CompletableFuture<String> lookup(String key) {
+            return CompletableFuture.completedFuture(key + "@" + Thread.currentThread().isVirtual());
+        }
+
+        @Async
+        public CompletableFuture<String> failingLookup() {
+            throw new IllegalStateException("unavailable");
+        }
+
+        public Thread caller() {
+            return Thread.currentThread();
+        }
+    }
+
+    @Singleton
+    public static class Indexer {
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Async
+        public CompletableFuture<Void> index() throws InterruptedException {
+            int now = running.incrementAndGet();
+            maxRunning.accumulateAndGet(now, Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return null;
+        }
+    }
+
+    @Component
+    public static class InvalidAsync {
+        @Async
+        public String compute() {
+            return "sync";
+        }
+    }
+
+    @Component
+    public static class PackagePrivateAsync {
+        @Async
+        void send() {
+        }
+    }
+
+    @Component
+    public static class FinalAsync {
+        @Async
+        public final void send() {
+        }
+    }
+
+    @Test
+    void testVoidMethodReturnsImmediatelyAndRunsOnVirtualThread() throws InterruptedException {
+        try (InjectorContainer container = new InjectorContainer()) {
+            Notifier notifier = container.resolve(Notifier.class);
+
+            notifier.send("hello");
+            assertEquals(1, notifier.sent.getCount());
+
+            notifier.release.countDown();
+            assertTrue(notifier.sent.await(5, TimeUnit.SECONDS));
+            assertTrue(notifier.sender.isVirtual());
+            assertSame(Thread.currentThread(), notifier.caller());
+        }
+    }
+
+    @Test
+    void testFutureMethodCompletesWithResult() throws Exception {
+        try (InjectorContainer container = new InjectorContainer()) {
+            Notifier notifier = container.resolve(Notifier.class);
+
+            assertEquals("key@true", notifier.lookup("key").get(5, TimeUnit.SECONDS));
+
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                    () -> notifier.failingLookup().get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+    }
+
+    @Test
+    void testConcurrencyIsBoundedPerBean() throws Exception {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setAsyncConcurrency(2);
+            Indexer indexer = container.resolve(Indexer.class);
+
+            List<CompletableFuture<Void>> calls = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                calls.add(indexer.index());
+            }
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            assertTrue(indexer.maxRunning.get() <= 2);
+        }
+    }
+
+    @Test
+    void testCloseWaitsForCallsAndRejectsNewOnes() throws InterruptedException {
+        InjectorContainer container = new InjectorContainer();
+        Indexer indexer = container.resolve(Indexer.class);
+
+        List<CompletableFuture<Void>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(indexer.index());
+        }
+        container.close();
+
+        assertTrue(calls.stream().allMatch(CompletableFuture::isDone));
+        assertThrows(RejectedExecutionException.class, indexer::index);
+    }
+
+    @Test
+    void testInvalidReturnTypeIsRejected() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            assertThrows(InjectionException.class, () -> container.resolve(InvalidAsync.class));
+        }
+    }
+
+    @Test
+    void testNonOverridableMethodIsRejected() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            assertThrows(InjectionException.class, () -> container.resolve(PackagePrivateAsync.class));
+            assertThrows(InjectionException.class, () -> container.resolve(FinalAsync.class));
+        }
+    }
+
+    @Test
+    void testCustomExecutorIsUsed() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            InjectorContainer container = new InjectorContainer();
+            container.setAsyncExecutor(executor);
+            Notifier notifier = container.resolve(Notifier.class);
+
+            assertEquals("key@false", notifier.lookup("key").get(5, TimeUnit.SECONDS));
+
+            container.close();
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
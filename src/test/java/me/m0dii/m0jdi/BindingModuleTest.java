@@ -0,0 +1,119 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.Injector;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import me.m0dii.m0jdi.inject.InjectorModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BindingModuleTest {
+    public interface Greeter {
+        String greet();
+    }
+
+    public static class PlainGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    public static class Notifier {
+        private final Greeter greeter;
+        private final Clock clock;
+
+        @Inject
+        public Notifier(Greeter greeter, Clock clock) {
+            this.greeter = greeter;
+            this.clock = clock;
+        }
+    }
+
+    @Test
+    void testBindingsResolveWithoutAnnotations() {
+        Clock clock = Clock.systemUTC();
+        AtomicInteger supplied = new AtomicInteger();
+
+        InjectorContainer container = new InjectorContainer();
+        container.install(binder -> {
+            binder.bind(Greeter.class).to(PlainGreeter.class);
+            binder.bind(Clock.class).toInstance(clock);
+            binder.bind(StringBuilder.class).toSupplier(() -> new StringBuilder("#" + supplied.incrementAndGet()));
+        });
+
+        Notifier notifier = new Injector(container).createInstance(Notifier.class);
+
+        assertEquals("hello", notifier.greeter.greet());
+        assertSame(clock, notifier.clock);
+        assertTrue(container.isSingletonRegistered(Clock.class));
+        assertNotSame(container.resolve(Greeter.class), container.resolve(Greeter.class));
+        assertEquals("#1", container.resolve(StringBuilder.class).toString());
+        assertEquals("#2", container.resolve(StringBuilder.class).toString());
+    }
+
+    @Test
+    void testModulesCompose() {
+        InjectorModule clockModule = binder -> binder.bind(Clock.class).toInstance(Clock.systemUTC());
+        InjectorModule appModule = binder -> {
+            binder.install(clockModule);
+            binder.bind(Greeter.class).toSupplier(() -> () -> "composed");
+        };
+
+        InjectorContainer container = new InjectorContainer();
+        container.install(appModule);
+
+        assertEquals("composed", container.resolve(Greeter.class).greet());
+        assertNotNull(container.resolve(Clock.class));
+    }
+
+    @Test
+    void testDuplicateBindingIsRejected() {
+        InjectorContainer container = new InjectorContainer();
+
+        assertThrows(InjectionException.class, () -> container.install(
+                binder -> binder.bind(Greeter.class).to(PlainGreeter.class),
+                binder -> binder.bind(Greeter.class).toSupplier(PlainGreeter::new)
+        ));
+    }
+
+    @Singleton
+    public static class Registry {
+    }
+
+    @Test
+    void testSelfBindingOfSingletonResolvesOnce() {
+        InjectorContainer container = new InjectorContainer();
+        container.install(binder -> binder.bind(Registry.class).to(Registry.class));
+
+        Registry registry = container.resolve(Registry.class);
+
+        assertSame(registry, container.resolve(Registry.class));
+        assertTrue(container.isSingletonRegistered(Registry.class));
+    }
+
+    @Test
+    void testRejectedBindingIsNotInstalled() {
+        InjectorContainer container = new InjectorContainer();
+        container.registerSingleton(Registry.class);
+        Registry registered = container.resolve(Registry.class);
+
+        assertThrows(InjectionException.class,
+                () -> container.install(binder -> binder.bind(Registry.class).toInstance(new Registry())));
+        assertSame(registered, container.resolve(Registry.class));
+    }
+
+    @Test
+    void testNullFromSupplierFailsResolution() {
+        InjectorContainer container = new InjectorContainer();
+        container.install(binder -> binder.bind(Greeter.class).toSupplier(() -> null));
+
+        assertThrows(InjectionException.class, () -> container.resolve(Greeter.class));
+    }
+}
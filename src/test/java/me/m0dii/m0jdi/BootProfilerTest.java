@@ -0,0 +1,110 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.inject.BootProfiler;
+import me.m0dii.m0jdi.inject.ConstructionTimeoutPolicy;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BootProfilerTest {
+    private static final AtomicReference<InjectorContainer> CONTAINER = new AtomicReference<>();
+
+    @Singleton
+    static class SlowRepository {
+        public SlowRepository() throws InterruptedException {
+            Thread.sleep(30);
+        }
+    }
+
+    @Singleton
+    static class FastCache {
+    }
+
+    @Component
+    static class Handler {
+        @Inject
+        public Handler(SlowRepository repository, FastCache cache) {
+        }
+    }
+
+    @Singleton
+    static class ProfilingSwitch {
+        public ProfilingSwitch() {
+            CONTAINER.get().enableProfiling();
+        }
+    }
+
+    @Test
+    void testProfilingIsOffByDefault() {
+        InjectorContainer container = new InjectorContainer();
+        container.resolve(Handler.class);
+
+        assertNull(container.getProfiler());
+    }
+
+    @Test
+    void testRecordsDependencyGraphAndCriticalPath() {
+        InjectorContainer container = new InjectorContainer();
+        BootProfiler profiler = container.enableProfiling();
+
+        container.resolve(Handler.class);
+
+        List<BootProfiler.Node> path = profiler.getCriticalPath();
+        assertEquals(List.of(Handler.class, SlowRepository.class),
+                path.stream().map(BootProfiler.Node::getType).toList());
+
+        BootProfiler.Node handler = path.getFirst();
+        assertEquals(2, handler.getDependencies().size());
+        assertTrue(handler.getTotalNanos() >= path.get(1).getTotalNanos());
+        assertEquals(SlowRepository.class, profiler.getTopSelfTime(1).getFirst().getType());
+    }
+
+    @Test
+    void testReusedSingletonIsReferencedButNotRebuilt() {
+        InjectorContainer container = new InjectorContainer();
+        BootProfiler profiler = container.enableProfiling();
+
+        container.resolve(Handler.class);
+        container.resolve(Handler.class);
+
+        BootProfiler.Node repository = profiler.getNodes().stream()
+                .filter(node -> node.getType() == SlowRepository.class)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1, repository.getConstructions());
+    }
+
+    @Test
+    void testExportsDotAndJson() {
+        InjectorContainer container = new InjectorContainer();
+        BootProfiler profiler = container.enableProfiling();
+
+        container.resolve(Handler.class);
+
+        String dot = profiler.toDot();
+        assertTrue(dot.startsWith("digraph boot {"));
+        assertTrue(dot.contains("\"" + Handler.class.getName() + "\" -> \"" + SlowRepository.class.getName() + "\""));
+
+        String json = profiler.toJson();
+        assertTrue(json.contains("\"criticalPath\":[\"" + Handler.class.getName() + "\",\"" + SlowRepository.class.getName() + "\"]"));
+    }
+
+    @Test
+    void testProfilingEnabledDuringConstruction() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setConstructionBudget(Duration.ofSeconds(5), ConstructionTimeoutPolicy.LOG);
+            CONTAINER.set(container);
+
+            assertNotNull(container.resolve(ProfilingSwitch.class));
+            assertNotNull(container.getProfiler());
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Cached;
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.inject.CacheStats;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedScopeTest {
+    @Component
+    @Cached
+    public static class RuleSet implements AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Component
+    @Cached
+    public static class TenantClient implements AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Component
+    @Cached(ttl = 20, unit = TimeUnit.MILLISECONDS)
+    public static class ShortLivedClient implements AutoCloseable {
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Component
+    @Cached(soft = true)
+    public static class SoftRules {
+    }
+
+    @Component
+    @Cached
+    public static class Pricing implements AutoCloseable {
+        private final RuleSet rules;
+        private boolean closed;
+
+        @Inject
+        public Pricing(RuleSet rules) {
+            this.rules = rules;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Component
+    @Cached
+    public static class SlowClient implements AutoCloseable {
+        private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+        private volatile boolean closed;
+
+        public SlowClient() throws InterruptedException {
+            CONSTRUCTIONS.incrementAndGet();
+            Thread.sleep(100);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void testCachedInstanceIsReused() {
+        InjectorContainer container = new InjectorContainer();
+
+        RuleSet first = container.resolve(RuleSet.class);
+        RuleSet second = container.resolve(RuleSet.class);
+
+        assertSame(first, second);
+        assertFalse(container.isSingletonRegistered(RuleSet.class));
+        assertEquals(new CacheStats(1, 1, 0, 1), container.getCacheStats());
+    }
+
+    @Test
+    void testExpiredInstanceIsRebuiltAndClosed() throws InterruptedException {
+        InjectorContainer container = new InjectorContainer();
+
+        ShortLivedClient first = container.resolve(ShortLivedClient.class);
+        Thread.sleep(40);
+        ShortLivedClient second = container.resolve(ShortLivedClient.class);
+
+        assertNotSame(first, second);
+        assertTrue(first.closed);
+        assertFalse(second.closed);
+        assertEquals(1, container.getCacheStats().evictions());
+    }
+
+    @Test
+    void testLeastRecentlyUsedInstanceIsEvictedWhenFull() {
+        InjectorContainer container = new InjectorContainer();
+        container.setCacheMaximumSize(1);
+
+        RuleSet rules = container.resolve(RuleSet.class);
+        TenantClient client = container.resolve(TenantClient.class);
+
+        assertTrue(rules.closed);
+        assertFalse(client.closed);
+        assertEquals(1, container.getCacheStats().size());
+    }
+
+    @Test
+    void testReturnedInstanceIsNotEvictedByItsOwnDependencies() {
+        InjectorContainer container = new InjectorContainer();
+        container.setCacheMaximumSize(1);
+
+        Pricing pricing = container.resolve(Pricing.class);
+
+        assertFalse(pricing.closed);
+        assertSame(pricing, container.resolve(Pricing.class));
+        assertEquals(1, container.getCacheStats().size());
+    }
+
+    @Test
+    void testZeroMaximumSizeDisablesCaching() {
+        InjectorContainer container = new InjectorContainer();
+        container.setCacheMaximumSize(0);
+
+        RuleSet first = container.resolve(RuleSet.class);
+        RuleSet second = container.resolve(RuleSet.class);
+
+        assertNotSame(first, second);
+        assertFalse(first.closed);
+        assertFalse(second.closed);
+        assertEquals(0, container.getCacheStats().size());
+    }
+
+    @Test
+    void testConcurrentMissesConstructOnce() throws Exception {
+        InjectorContainer container = new InjectorContainer();
+        int constructions = SlowClient.CONSTRUCTIONS.get();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<SlowClient> first = executor.submit(() -> container.resolve(SlowClient.class));
+            Future<SlowClient> second = executor.submit(() -> container.resolve(SlowClient.class));
+
+            assertSame(first.get(), second.get());
+            assertFalse(first.get().closed);
+        }
+
+        assertEquals(constructions + 1, SlowClient.CONSTRUCTIONS.get());
+        assertEquals(0, container.getCacheStats().evictions());
+    }
+
+    @Test
+    void testManualEviction() {
+        InjectorContainer container = new InjectorContainer();
+
+        RuleSet rules = container.resolve(RuleSet.class);
+
+        assertTrue(container.evictCached(RuleSet.class));
+        assertFalse(container.evictCached(RuleSet.class));
+        assertTrue(rules.closed);
+        assertNotSame(rules, container.resolve(RuleSet.class));
+    }
+
+    @Test
+    void testSoftInstanceIsReusedWhileReachable() {
+        InjectorContainer container = new InjectorContainer();
+
+        SoftRules rules = container.resolve(SoftRules.class);
+
+        assertSame(rules, container.resolve(SoftRules.class));
+    }
+}
@@ -0,0 +1,183 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.exception.MissingConstructorException;
+import me.m0dii.m0jdi.inject.BootProfiler;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import me.m0dii.m0jdi.pluginapi.Command;
+import me.m0dii.m0jdi.pluginapi.Greeter;
+import me.m0dii.m0jdi.pluginapi.PluginEvents;
+import me.m0dii.m0jdi.pluginapi.Status;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClassLoaderPartitionTest {
+    @Singleton
+    public static class HostService {
+    }
+
+    @Component
+    public static class CommandRunner {
+        @Inject
+        public CommandRunner(Command command) {
+        }
+    }
+
+    /**
+     * Loads the classes of the plugin package itself instead of delegating, like a plugin class loader would.
+     */
+    static class PluginClassLoader extends ClassLoader {
+        private static final String PLUGIN_PACKAGE = "me.m0dii.m0jdi.plugin.";
+
+        PluginClassLoader() {
+            super(ClassLoaderPartitionTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PLUGIN_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                        if (in == null) {
+                            throw new ClassNotFoundException(name);
+                        }
+                        byte[] bytes = in.readAllBytes();
+                        loaded = defineClass(name, bytes, 0, bytes.length);
+                    } catch (IOException e) {
+                        throw new ClassNotFoundException(name, e);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+    }
+
+    @Test
+    void testPluginClassesAreLoadedByPluginLoader() {
+        InjectorContainer container = new InjectorContainer();
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+
+        Command command = container.resolve(Command.class);
+        assertSame(loader, command.getClass().getClassLoader());
+        assertEquals("Hello, plugin", command.run("plugin"));
+        assertTrue(container.hasImplementation(Greeter.class));
+    }
+
+    @Test
+    void testUnregisterReleasesOnlyPluginTypes() {
+        InjectorContainer container = new InjectorContainer();
+        container.registerSingleton(HostService.class);
+        HostService host = container.resolve(HostService.class);
+
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+        container.resolve(Command.class);
+
+        int closed = PluginEvents.CLOSED.get();
+        container.unregister(loader);
+
+        assertEquals(closed + 1, PluginEvents.CLOSED.get());
+        assertFalse(container.hasImplementation(Greeter.class));
+        assertFalse(container.hasImplementation(Command.class));
+        assertTrue(container.getAllComponents().stream().noneMatch(c -> ((Class<?>) c).getClassLoader() == loader));
+        assertSame(host, container.resolve(HostService.class));
+    }
+
+    @Test
+    void testUnregisterKeepsHostBindingsOfPluginImplementedTypes() {
+        InjectorContainer container = new InjectorContainer();
+        Greeter host = name -> "Hi, " + name;
+        container.install(binder -> binder.bind(Greeter.class).toInstance(host));
+
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+        container.unregister(loader);
+
+        assertSame(host, container.resolve(Greeter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUnregisterReleasesPluginSuppliedBindings() throws ReflectiveOperationException {
+        InjectorContainer container = new InjectorContainer();
+        PluginClassLoader loader = new PluginClassLoader();
+        Supplier<Greeter> supplier = (Supplier<Greeter>) loader.loadClass("me.m0dii.m0jdi.plugin.GreetingSupplier")
+                .getDeclaredConstructor().newInstance();
+        container.install(binder -> binder.bind(Greeter.class).toSupplier(supplier));
+        assertEquals("Hello, supplier", container.resolve(Greeter.class).greet("supplier"));
+
+        container.unregister(loader);
+
+        assertThrows(InjectionException.class, () -> container.resolve(Greeter.class));
+    }
+
+    @Test
+    void testUnregisterForgetsPluginProfilerNodes() {
+        InjectorContainer container = new InjectorContainer();
+        BootProfiler profiler = container.enableProfiling();
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+        container.resolve(CommandRunner.class);
+
+        container.unregister(loader);
+
+        assertFalse(profiler.getNodes().isEmpty());
+        for (BootProfiler.Node node : profiler.getNodes()) {
+            assertNotSame(loader, node.getType().getClassLoader());
+            assertTrue(node.getDependencies().stream().noneMatch(dependency -> dependency.getClassLoader() == loader));
+        }
+    }
+
+    @Test
+    void testUnregisterDropsCompiledGraphsThroughPluginTypes() {
+        InjectorContainer container = new InjectorContainer();
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+        assertNotNull(container.compile(CommandRunner.class).get());
+
+        container.unregister(loader);
+
+        assertThrows(MissingConstructorException.class, () -> container.compile(CommandRunner.class));
+    }
+
+    @Test
+    void testUnregisteredLoaderCanBeCollected() throws InterruptedException {
+        InjectorContainer container = new InjectorContainer();
+        WeakReference<ClassLoader> reference = loadAndUnregister(container);
+
+        for (int i = 0; i < 50 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(reference.get());
+    }
+
+    private static WeakReference<ClassLoader> loadAndUnregister(InjectorContainer container) {
+        PluginClassLoader loader = new PluginClassLoader();
+        container.scanPackage("me.m0dii.m0jdi.plugin", loader);
+        assertEquals("Hello, gc", container.resolve(Command.class).run("gc"));
+        assertEquals("running", container.resolve(Status.class).describe());
+
+        container.unregister(loader);
+        return new WeakReference<>(loader);
+    }
+}
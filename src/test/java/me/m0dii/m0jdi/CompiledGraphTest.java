@@ -0,0 +1,129 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.*;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.ConfigurationSnapshot;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledGraphTest {
+    @Singleton
+    public static class ConnectionPool {
+    }
+
+    @Component
+    public interface Codec {
+        String encode(String value);
+    }
+
+    @Component
+    public static class UpperCaseCodec implements Codec {
+        @Override
+        public String encode(String value) {
+            return value.toUpperCase();
+        }
+    }
+
+    @Component
+    public static class Repository {
+        private final ConnectionPool pool;
+
+        @Inject
+        public Repository(ConnectionPool pool) {
+            this.pool = pool;
+        }
+    }
+
+    @Component
+    public static class Validator {
+    }
+
+    public static class Handler {
+        private final Repository repository;
+        private final Codec codec;
+        private final Validator validator;
+        private final int timeout;
+
+        @Inject
+        public Handler(Repository repository, Codec codec, Validator validator, @ConfigValue("handler.timeout") int timeout) {
+            this.repository = repository;
+            this.codec = codec;
+            this.validator = validator;
+            this.timeout = timeout;
+        }
+    }
+
+    @Component
+    public static class Left {
+        @Inject
+        public Left(Right right) {
+        }
+    }
+
+    @Component
+    public static class Right {
+        @Inject
+        public Right(Left left) {
+        }
+    }
+
+    @Component
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    private static InjectorContainer container() {
+        InjectorContainer container = new InjectorContainer();
+        container.setConfiguration(ConfigurationSnapshot.of(Map.of("handler.timeout", "250")));
+        container.registerSingleton(UpperCaseCodec.class);
+        return container;
+    }
+
+    @Test
+    void testCompiledSupplierBuildsNewGraphWithSharedSingletons() {
+        InjectorContainer container = container();
+        Supplier<Handler> supplier = container.compile(Handler.class);
+
+        Handler first = supplier.get();
+        Handler second = supplier.get();
+
+        assertNotSame(first, second);
+        assertNotSame(first.repository, second.repository);
+        assertNotSame(first.validator, second.validator);
+        assertSame(container.resolve(ConnectionPool.class), first.repository.pool);
+        assertSame(first.repository.pool, second.repository.pool);
+        assertInstanceOf(UpperCaseCodec.class, first.codec);
+        assertEquals("ABC", first.codec.encode("abc"));
+        assertEquals(250, first.timeout);
+    }
+
+    @Test
+    void testCompiledSupplierIsShared() {
+        InjectorContainer container = container();
+
+        assertSame(container.compile(Handler.class), container.compile(Handler.class));
+    }
+
+    @Test
+    void testCircularGraphIsRejected() {
+        InjectorContainer container = container();
+
+        InjectionException exception = assertThrows(InjectionException.class, () -> container.compile(Left.class));
+        assertTrue(exception.getMessage().contains("Circular dependency"));
+    }
+
+    @Test
+    void testConstructorFailureIsWrapped() {
+        Supplier<Failing> supplier = container().compile(Failing.class);
+
+        InjectionException exception = assertThrows(InjectionException.class, supplier::get);
+        assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+}
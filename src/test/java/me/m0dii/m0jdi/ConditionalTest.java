@@ -0,0 +1,51 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.conditional.*;
+import me.m0dii.m0jdi.inject.ConfigurationSnapshot;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalTest {
+    @Test
+    void testFallbackIsRegisteredWhenPropertyDoesNotMatch() {
+        InjectorContainer container = new InjectorContainer();
+        container.scanPackage("me.m0dii.m0jdi.conditional");
+
+        assertFalse(container.isSingletonRegistered(S3Storage.class));
+        assertTrue(container.isSingletonRegistered(InMemoryStorage.class));
+        assertEquals("in-memory", container.resolve(Storage.class).getName());
+    }
+
+    @Test
+    void testPropertyEnablesBeanAndDisablesFallback() {
+        InjectorContainer container = new InjectorContainer();
+        container.setConfiguration(ConfigurationSnapshot.of(Map.of("storage.backend", "S3")));
+        container.scanPackage("me.m0dii.m0jdi.conditional");
+
+        assertTrue(container.isSingletonRegistered(S3Storage.class));
+        assertFalse(container.isSingletonRegistered(InMemoryStorage.class));
+        assertEquals("s3", container.resolve(Storage.class).getName());
+    }
+
+    @Test
+    void testClassConditions() {
+        InjectorContainer container = new InjectorContainer();
+        container.scanPackage("me.m0dii.m0jdi.conditional");
+
+        assertFalse(container.isSingletonRegistered(MissingLibraryService.class));
+        assertTrue(container.isSingletonRegistered(PresentLibraryService.class));
+    }
+
+    @Test
+    void testDisabledBeanIsNotInitialized() {
+        InjectorContainer container = new InjectorContainer();
+        container.scanPackage("me.m0dii.m0jdi.conditional");
+
+        assertFalse(ConditionalEvents.TRACING_INITIALIZED.get());
+        assertFalse(container.isSingletonRegistered(TracingService.class));
+    }
+}
@@ -0,0 +1,139 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.ConfigValue;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Injected;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.ConfigurationSnapshot;
+import me.m0dii.m0jdi.inject.Injector;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConfigValueTest {
+    enum Mode {
+        FAST, SAFE
+    }
+
+    @Component
+    static class ServerSettings {
+        private final int port;
+        private final Duration timeout;
+        private final Mode mode;
+
+        @Inject
+        public ServerSettings(@ConfigValue("server.port") int port,
+                              @ConfigValue(value = "server.timeout", defaultValue = "30s") Duration timeout,
+                              @ConfigValue("server.mode") Mode mode) {
+            this.port = port;
+            this.timeout = timeout;
+            this.mode = mode;
+        }
+    }
+
+    @Component
+    static class ServerClient {
+        private final ServerSettings settings;
+        private final int retries;
+
+        @Inject
+        public ServerClient(@ConfigValue(value = "client.retries", defaultValue = "3") int retries, ServerSettings settings) {
+            this.settings = settings;
+            this.retries = retries;
+        }
+    }
+
+    static class PoolClient {
+        @Injected
+        @ConfigValue("pool.size")
+        private int poolSize;
+
+        @Injected
+        @ConfigValue("pool.fair")
+        private boolean fair;
+
+        @Injected
+        @ConfigValue(value = "pool.name", defaultValue = "default")
+        private String name;
+    }
+
+    @Component
+    static class MissingValueService {
+        @Inject
+        public MissingValueService(@ConfigValue("missing.key") long value) {
+        }
+    }
+
+    private static InjectorContainer configuredContainer() {
+        InjectorContainer container = new InjectorContainer();
+        container.setConfiguration(ConfigurationSnapshot.of(Map.of(
+                "server.port", "8080",
+                "server.mode", "SAFE",
+                "pool.size", " 16 ",
+                "pool.fair", "true"
+        )));
+        return container;
+    }
+
+    @Test
+    void testConstructorParametersAreConverted() {
+        ServerSettings settings = configuredContainer().resolve(ServerSettings.class);
+
+        assertEquals(8080, settings.port);
+        assertEquals(Duration.ofSeconds(30), settings.timeout);
+        assertEquals(Mode.SAFE, settings.mode);
+    }
+
+    @Test
+    void testConfigValuesAndDependenciesKeepTheirPositions() {
+        InjectorContainer container = configuredContainer();
+        ServerClient client = container.resolve(ServerClient.class);
+        ServerClient created = new Injector(container).createInstance(ServerClient.class);
+
+        assertEquals(3, client.retries);
+        assertEquals(8080, client.settings.port);
+        assertEquals(3, created.retries);
+        assertEquals(Mode.SAFE, created.settings.mode);
+    }
+
+    @Test
+    void testPrimitiveFieldsAreInjected() {
+        PoolClient client = new PoolClient();
+        new Injector(configuredContainer()).injectDependencies(client);
+
+        assertEquals(16, client.poolSize);
+        assertTrue(client.fair);
+        assertEquals("default", client.name);
+    }
+
+    @Test
+    void testSnapshotCachesConvertedValues() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(Map.of("timeout", "PT5S"));
+
+        assertSame(snapshot.get("timeout", Duration.class), snapshot.get("timeout", Duration.class));
+        assertNull(snapshot.get("absent", Integer.class));
+    }
+
+    @Test
+    void testMissingValueFailsInjection() {
+        InjectorContainer container = configuredContainer();
+
+        Exception exception = assertThrows(InjectionException.class, () -> container.resolve(MissingValueService.class));
+
+        assertTrue(exception.getCause().getMessage().startsWith("Missing configuration value 'missing.key'"));
+    }
+
+    @Test
+    void testConversionFailureKeepsItsCause() {
+        ConfigurationSnapshot snapshot = ConfigurationSnapshot.of(Map.of("port", "eighty"));
+
+        InjectionException exception = assertThrows(InjectionException.class, () -> snapshot.get("port", Integer.class));
+
+        assertInstanceOf(NumberFormatException.class, exception.getCause());
+    }
+}
@@ -0,0 +1,149 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.ConstructionTimeoutException;
+import me.m0dii.m0jdi.inject.ConstructionTimeoutPolicy;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConstructionBudgetTest {
+    private static final CountDownLatch GATE_ENTERED = new CountDownLatch(1);
+    private static final CountDownLatch GATE_RELEASED = new CountDownLatch(1);
+
+    @Singleton
+    public static class SlowDisk {
+        public SlowDisk() throws InterruptedException {
+            Thread.sleep(5_000);
+        }
+    }
+
+    @Singleton
+    public static class Storage {
+        private final SlowDisk disk;
+
+        @Inject
+        public Storage(SlowDisk disk) {
+            this.disk = disk;
+        }
+    }
+
+    @Singleton
+    public static class WarmUp {
+        public WarmUp() throws InterruptedException {
+            Thread.sleep(150);
+        }
+    }
+
+    @Singleton
+    public static class Fast {
+    }
+
+    @Singleton
+    public static class Gate {
+        public Gate() throws InterruptedException {
+            GATE_ENTERED.countDown();
+            GATE_RELEASED.await();
+        }
+    }
+
+    @Singleton
+    public static class Dashboard {
+        @Inject
+        public Dashboard(Gate gate) {
+        }
+    }
+
+    @Test
+    void testStuckConstructionFailsWithResolutionPath() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setConstructionBudget(Duration.ofMillis(100), ConstructionTimeoutPolicy.FAIL);
+
+            long start = System.nanoTime();
+            ConstructionTimeoutException exception = assertThrows(ConstructionTimeoutException.class,
+                    () -> container.resolve(Storage.class));
+
+            assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+            assertEquals(SlowDisk.class, exception.getType());
+            assertEquals(List.of(Storage.class, SlowDisk.class), exception.getResolutionPath());
+            assertTrue(Arrays.stream(exception.getStuckStackTrace())
+                    .anyMatch(element -> element.getClassName().equals(SlowDisk.class.getName())));
+            assertTrue(exception.getMessage().contains("Storage -> SlowDisk"));
+            assertFalse(container.isSingletonRegistered(SlowDisk.class));
+            assertFalse(Thread.currentThread().isInterrupted());
+        }
+    }
+
+    @Test
+    void testLogPolicyLetsConstructionContinue() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setConstructionBudget(Duration.ofMillis(20), ConstructionTimeoutPolicy.LOG);
+            container.registerSingleton(WarmUp.class);
+
+            assertTrue(container.isSingletonRegistered(WarmUp.class));
+            assertTrue(container.getConstructionTimes().get(WarmUp.class).compareTo(Duration.ofMillis(150)) >= 0);
+        }
+    }
+
+    @Test
+    void testPerTypeBudgetOverridesGlobalBudget() {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setConstructionBudget(Duration.ofMillis(50), ConstructionTimeoutPolicy.FAIL);
+            container.setConstructionBudget(WarmUp.class, Duration.ofSeconds(5));
+
+            assertNotNull(container.resolve(WarmUp.class));
+            assertNotNull(container.resolve(Fast.class));
+            assertTrue(container.getConstructionTimes().containsKey(Fast.class));
+        }
+    }
+
+    @Test
+    void testWaitingForAnotherThreadFailsTheBudget() throws InterruptedException {
+        try (InjectorContainer container = new InjectorContainer()) {
+            container.setConstructionBudget(Dashboard.class, Duration.ofMillis(100));
+            Thread builder = Thread.ofPlatform().start(() -> container.resolve(Gate.class));
+            try {
+                assertTrue(GATE_ENTERED.await(5, TimeUnit.SECONDS));
+
+                long start = System.nanoTime();
+                ConstructionTimeoutException exception = assertThrows(ConstructionTimeoutException.class,
+                        () -> container.resolve(Dashboard.class));
+
+                assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(2)) < 0);
+                assertEquals(Dashboard.class, exception.getType());
+                assertFalse(Thread.currentThread().isInterrupted());
+            } finally {
+                GATE_RELEASED.countDown();
+                builder.join();
+            }
+            assertTrue(container.isSingletonRegistered(Gate.class));
+        }
+    }
+
+    @Test
+    void testResolvingAfterCloseSkipsBudgets() {
+        InjectorContainer container = new InjectorContainer();
+        container.setConstructionBudget(Duration.ofSeconds(5), ConstructionTimeoutPolicy.FAIL);
+        container.close();
+
+        assertNotNull(container.resolve(Fast.class));
+        assertNotNull(container.resolve(WarmUp.class));
+        assertTrue(container.getConstructionTimes().containsKey(WarmUp.class));
+    }
+
+    @Test
+    void testConstructionTimesAreEmptyWithoutBudget() {
+        InjectorContainer container = new InjectorContainer();
+        container.resolve(Fast.class);
+
+        assertTrue(container.getConstructionTimes().isEmpty());
+    }
+}
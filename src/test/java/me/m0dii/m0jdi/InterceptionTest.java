@@ -0,0 +1,163 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.exception.InjectionException;
+import me.m0dii.m0jdi.inject.Injector;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InterceptionTest {
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Traced {
+    }
+
+    @Singleton
+    public static class PricingService {
+        private int attempts;
+
+        @Traced
+        public long price(int quantity, double unitPrice) {
+            return Math.round(quantity * unitPrice);
+        }
+
+        public String currency() {
+            return "EUR";
+        }
+
+        @Traced
+        public void flakyRefresh() {
+            if (++attempts < 3) {
+                throw new IllegalStateException("attempt " + attempts);
+            }
+        }
+    }
+
+    @Component
+    public interface Greeter {
+        @Traced
+        String greet(String name);
+    }
+
+    @Component
+    public static class GreeterImpl implements Greeter {
+        @Override
+        public String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    public static class Checkout {
+        private final PricingService pricing;
+
+        @Inject
+        public Checkout(PricingService pricing) {
+            this.pricing = pricing;
+        }
+    }
+
+    @Component
+    public static final class FinalService {
+        @Traced
+        public void run() {
+        }
+    }
+
+    @Test
+    void testOnlyMatchingMethodsAreIntercepted() {
+        List<String> calls = new ArrayList<>();
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> {
+            calls.add(invocation.getMethod().getName());
+            return invocation.proceed();
+        });
+
+        PricingService service = container.resolve(PricingService.class);
+
+        assertNotSame(PricingService.class, service.getClass());
+        assertEquals(25L, service.price(10, 2.5));
+        assertEquals("EUR", service.currency());
+        assertEquals(List.of("price"), calls);
+        assertSame(service, container.resolve(PricingService.class));
+    }
+
+    @Test
+    void testInterceptorsRunInRegistrationOrderAndCanRetry() {
+        List<String> calls = new ArrayList<>();
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> {
+            calls.add("outer");
+            return invocation.proceed();
+        });
+        container.addInterceptor(method -> method.getName().equals("flakyRefresh"), invocation -> {
+            calls.add("retry");
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return invocation.proceed();
+                } catch (IllegalStateException e) {
+                    if (attempt == 3) {
+                        throw e;
+                    }
+                }
+            }
+        });
+
+        container.resolve(PricingService.class).flakyRefresh();
+
+        assertEquals(List.of("outer", "retry"), calls);
+    }
+
+    @Test
+    void testInterceptorCanReplaceResultAndArguments() {
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> {
+            if (invocation.getMethod().getName().equals("greet")) {
+                invocation.getArguments()[0] = "World";
+            }
+            return invocation.proceed();
+        });
+
+        Greeter greeter = container.resolve(GreeterImpl.class);
+
+        assertEquals("Hello World", greeter.greet("nobody"));
+    }
+
+    @Test
+    void testConstructorInjectedDependenciesAreIntercepted() {
+        List<Object> arguments = new ArrayList<>();
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> {
+            arguments.addAll(List.of(invocation.getArguments()));
+            return 99L;
+        });
+
+        Checkout checkout = new Injector(container).createInstance(Checkout.class);
+
+        assertEquals(99L, checkout.pricing.price(3, 1.5));
+        assertEquals(List.of(3, 1.5), arguments);
+    }
+
+    @Test
+    void testFinalClassCannotBeIntercepted() {
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> invocation.proceed());
+
+        assertThrows(InjectionException.class, () -> container.resolve(FinalService.class));
+    }
+
+    @Test
+    void testTypesWithoutInterceptorsAreNotSubclassed() {
+        InjectorContainer container = new InjectorContainer();
+        container.addInterceptor(Traced.class, invocation -> invocation.proceed());
+
+        assertSame(Checkout.class, new Injector(container).createInstance(Checkout.class).getClass());
+    }
+}
@@ -0,0 +1,107 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Cached;
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import me.m0dii.m0jdi.inject.MemoryReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MemoryReportTest {
+    @Singleton
+    public static class SharedConfig {
+        private final long[] values = new long[16];
+    }
+
+    @Singleton
+    public static class LargeIndex {
+        private final byte[] data = new byte[64 * 1024];
+        private final List<String> keys = new ArrayList<>(List.of("alpha", "beta", "gamma"));
+        private final SharedConfig config;
+
+        @Inject
+        public LargeIndex(SharedConfig config) {
+            this.config = config;
+        }
+    }
+
+    @Singleton
+    public static class SmallService {
+        private final int[] buffer = new int[4];
+    }
+
+    @Component
+    @Cached
+    public static class RuleSet {
+        private final char[] rules = new char[1024];
+    }
+
+    public static class Node {
+        private Node next;
+    }
+
+    @Singleton
+    public static class DeepChain {
+        private final Node head = new Node();
+
+        public DeepChain() {
+            Node current = head;
+            for (int i = 0; i < 40; i++) {
+                current.next = new Node();
+                current = current.next;
+            }
+        }
+    }
+
+    @Test
+    void testReportIsRankedByRetainedSize() {
+        InjectorContainer container = new InjectorContainer();
+        container.resolve(LargeIndex.class);
+        container.resolve(SmallService.class);
+        container.resolve(RuleSet.class);
+
+        List<MemoryReport.Entry> entries = container.estimateMemory().getEntries();
+
+        assertEquals(LargeIndex.class, entries.getFirst().type());
+        assertTrue(entries.getFirst().retainedBytes() > 64 * 1024);
+        assertTrue(entries.stream().anyMatch(entry -> entry.type() == RuleSet.class && entry.cached()));
+
+        for (int i = 1; i < entries.size(); i++) {
+            assertTrue(entries.get(i - 1).retainedBytes() >= entries.get(i).retainedBytes());
+        }
+    }
+
+    @Test
+    void testOtherSingletonsAreNotAttributed() {
+        InjectorContainer container = new InjectorContainer();
+        container.resolve(LargeIndex.class);
+
+        MemoryReport report = container.estimateMemory();
+        MemoryReport.Entry config = report.getEntries().stream()
+                .filter(entry -> entry.type() == SharedConfig.class)
+                .findFirst()
+                .orElseThrow();
+
+        assertTrue(config.retainedBytes() >= 16 * 8);
+        assertTrue(report.getEntries().getFirst().retainedBytes() < 64 * 1024 + 4096);
+    }
+
+    @Test
+    void testWalkStopsAtDepthLimit() {
+        InjectorContainer container = new InjectorContainer();
+        container.resolve(DeepChain.class);
+
+        MemoryReport.Entry limited = container.estimateMemory(10, 1000).getEntries().getFirst();
+        MemoryReport.Entry full = container.estimateMemory().getEntries().getFirst();
+
+        assertTrue(limited.truncated());
+        assertFalse(full.truncated());
+        assertTrue(limited.objectCount() < full.objectCount());
+    }
+}
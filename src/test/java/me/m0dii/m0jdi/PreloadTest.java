@@ -0,0 +1,182 @@
+package me.m0dii.m0jdi;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.inject.Injector;
+import me.m0dii.m0jdi.inject.InjectorContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreloadTest {
+    private static final AtomicInteger CATALOG_CONSTRUCTIONS = new AtomicInteger();
+    private static final AtomicInteger SESSION_CONSTRUCTIONS = new AtomicInteger();
+    private static final AtomicReference<InjectorContainer> CONTAINER = new AtomicReference<>();
+
+    @Singleton
+    public static class Broken {
+        public Broken() {
+            throw new AssertionError("broken");
+        }
+    }
+
+    @Singleton
+    public static class Catalog {
+        public Catalog() throws InterruptedException {
+            CATALOG_CONSTRUCTIONS.incrementAndGet();
+            Thread.sleep(50);
+        }
+    }
+
+    @Component
+    public static class Session {
+        private final Catalog catalog;
+
+        @Inject
+        public Session(Catalog catalog) {
+            SESSION_CONSTRUCTIONS.incrementAndGet();
+            this.catalog = catalog;
+        }
+    }
+
+    public static class RequestHandler {
+        private final Session session;
+
+        @Inject
+        public RequestHandler(Session session) {
+            this.session = session;
+        }
+    }
+
+    @Singleton
+    public static class Index {
+    }
+
+    @Singleton
+    public static class IndexWarmer {
+        private final Index index;
+
+        public IndexWarmer() throws Exception {
+            InjectorContainer container = CONTAINER.get();
+            try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+                index = executor.submit(() -> container.resolve(Index.class)).get(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    void testSingletonMayResolveAnotherSingletonOnAnotherThread() {
+        InjectorContainer container = new InjectorContainer();
+        CONTAINER.set(container);
+
+        IndexWarmer warmer = container.resolve(IndexWarmer.class);
+
+        assertSame(container.resolve(Index.class), warmer.index);
+    }
+
+    @Test
+    void testRecordingIsSavedInRequestOrder(@TempDir Path directory) throws IOException {
+        InjectorContainer container = new InjectorContainer();
+        container.startRecording(Duration.ofMinutes(1));
+
+        new Injector(container).createInstance(RequestHandler.class);
+        container.resolve(Session.class);
+
+        Path profile = directory.resolve("boot.profile");
+        container.saveProfile(profile);
+
+        List<String> classNames = Files.readAllLines(profile).stream()
+                .filter(line -> !line.startsWith("#"))
+                .map(line -> line.split(" ")[1])
+                .toList();
+        assertEquals(List.of(RequestHandler.class.getName(), Session.class.getName(), Catalog.class.getName()), classNames);
+    }
+
+    @Test
+    void testNothingIsRecordedAfterWindow(@TempDir Path directory) throws IOException {
+        InjectorContainer container = new InjectorContainer();
+        container.startRecording(Duration.ZERO);
+        container.resolve(Session.class);
+
+        Path profile = directory.resolve("empty.profile");
+        container.saveProfile(profile);
+
+        assertTrue(Files.readAllLines(profile).stream().allMatch(line -> line.startsWith("#")));
+    }
+
+    @Test
+    void testPreloadCreatesSingletonsOnly(@TempDir Path directory) throws Exception {
+        Path profile = directory.resolve("boot.profile");
+        Files.write(profile, List.of(
+                "# recorded",
+                "0 " + RequestHandler.class.getName(),
+                "1 com.example.RemovedType",
+                "2 " + Session.class.getName(),
+                "3 " + Catalog.class.getName()));
+
+        InjectorContainer container = new InjectorContainer();
+        int sessions = SESSION_CONSTRUCTIONS.get();
+        container.preload(profile).get(5, TimeUnit.SECONDS);
+
+        assertTrue(container.isSingletonRegistered(Catalog.class));
+        assertEquals(sessions, SESSION_CONSTRUCTIONS.get());
+        assertNotNull(new Injector(container).createInstance(RequestHandler.class).session.catalog);
+    }
+
+    @Test
+    void testSingletonIsCreatedOnceWhilePreloading(@TempDir Path directory) throws Exception {
+        Path profile = directory.resolve("boot.profile");
+        Files.write(profile, List.of("0 " + Catalog.class.getName()));
+
+        InjectorContainer container = new InjectorContainer();
+        int constructions = CATALOG_CONSTRUCTIONS.get();
+        CompletableFuture<Void> preloading = container.preload(profile);
+        Catalog catalog = container.resolve(Catalog.class);
+        preloading.get(5, TimeUnit.SECONDS);
+
+        assertEquals(constructions + 1, CATALOG_CONSTRUCTIONS.get());
+        assertSame(catalog, container.resolve(Catalog.class));
+    }
+
+    @Test
+    void testRegisteringWhilePreloadingKeepsOneSingleton(@TempDir Path directory) throws Exception {
+        Path profile = directory.resolve("boot.profile");
+        Files.write(profile, List.of("0 " + Catalog.class.getName()));
+
+        InjectorContainer container = new InjectorContainer();
+        int constructions = CATALOG_CONSTRUCTIONS.get();
+        CompletableFuture<Void> preloading = container.preload(profile);
+        container.registerSingleton(Catalog.class);
+        Catalog catalog = container.resolve(Catalog.class);
+        preloading.get(5, TimeUnit.SECONDS);
+
+        assertEquals(constructions + 1, CATALOG_CONSTRUCTIONS.get());
+        assertSame(catalog, container.resolve(Catalog.class));
+    }
+
+    @Test
+    void testErrorCompletesPreloadExceptionally(@TempDir Path directory) throws IOException {
+        Path profile = directory.resolve("boot.profile");
+        Files.write(profile, List.of("0 " + Broken.class.getName()));
+
+        CompletableFuture<Void> preloading = new InjectorContainer().preload(profile);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> preloading.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+    }
+}
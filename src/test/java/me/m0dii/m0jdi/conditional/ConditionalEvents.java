@@ -0,0 +1,10 @@
+package me.m0dii.m0jdi.conditional;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class ConditionalEvents {
+    public static final AtomicBoolean TRACING_INITIALIZED = new AtomicBoolean();
+
+    private ConditionalEvents() {
+    }
+}
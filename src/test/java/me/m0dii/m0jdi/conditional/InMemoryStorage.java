@@ -0,0 +1,13 @@
+package me.m0dii.m0jdi.conditional;
+
+import me.m0dii.m0jdi.annotations.ConditionalOnMissingBean;
+import me.m0dii.m0jdi.annotations.Singleton;
+
+@Singleton
+@ConditionalOnMissingBean
+public class InMemoryStorage implements Storage {
+    @Override
+    public String getName() {
+        return "in-memory";
+    }
+}
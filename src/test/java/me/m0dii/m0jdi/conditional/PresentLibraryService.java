@@ -0,0 +1,9 @@
+package me.m0dii.m0jdi.conditional;
+
+import me.m0dii.m0jdi.annotations.ConditionalOnClass;
+import me.m0dii.m0jdi.annotations.Singleton;
+
+@Singleton
+@ConditionalOnClass("java.util.concurrent.ConcurrentHashMap")
+public class PresentLibraryService {
+}
@@ -0,0 +1,13 @@
+package me.m0dii.m0jdi.conditional;
+
+import me.m0dii.m0jdi.annotations.ConditionalOnProperty;
+import me.m0dii.m0jdi.annotations.Singleton;
+
+@Singleton
+@ConditionalOnProperty(value = "storage.backend", havingValue = "s3")
+public class S3Storage implements Storage {
+    @Override
+    public String getName() {
+        return "s3";
+    }
+}
@@ -0,0 +1,8 @@
+package me.m0dii.m0jdi.conditional;
+
+import me.m0dii.m0jdi.annotations.Component;
+
+@Component
+public interface Storage {
+    String getName();
+}
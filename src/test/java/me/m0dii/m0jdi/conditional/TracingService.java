@@ -0,0 +1,12 @@
+package me.m0dii.m0jdi.conditional;
+
+import me.m0dii.m0jdi.annotations.ConditionalOnProperty;
+import me.m0dii.m0jdi.annotations.Singleton;
+
+@Singleton
+@ConditionalOnProperty(value = "tracing.enabled", havingValue = "true")
+public class TracingService {
+    static {
+        ConditionalEvents.TRACING_INITIALIZED.set(true);
+    }
+}
@@ -0,0 +1,20 @@
+package me.m0dii.m0jdi.plugin;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.annotations.Inject;
+import me.m0dii.m0jdi.pluginapi.Command;
+
+@Component
+public class GreetingCommand implements Command {
+    private final GreetingPlugin plugin;
+
+    @Inject
+    public GreetingCommand(GreetingPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public String run(String argument) {
+        return plugin.greet(argument);
+    }
+}
@@ -0,0 +1,18 @@
+package me.m0dii.m0jdi.plugin;
+
+import me.m0dii.m0jdi.annotations.Singleton;
+import me.m0dii.m0jdi.pluginapi.Greeter;
+import me.m0dii.m0jdi.pluginapi.PluginEvents;
+
+@Singleton
+public class GreetingPlugin implements Greeter, AutoCloseable {
+    @Override
+    public String greet(String name) {
+        return "Hello, " + name;
+    }
+
+    @Override
+    public void close() {
+        PluginEvents.CLOSED.incrementAndGet();
+    }
+}
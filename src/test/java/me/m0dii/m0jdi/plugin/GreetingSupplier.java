@@ -0,0 +1,14 @@
+package me.m0dii.m0jdi.plugin;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.pluginapi.Greeter;
+
+import java.util.function.Supplier;
+
+@Component
+public class GreetingSupplier implements Supplier<Greeter> {
+    @Override
+    public Greeter get() {
+        return new GreetingPlugin();
+    }
+}
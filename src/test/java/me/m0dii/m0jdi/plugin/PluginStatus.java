@@ -0,0 +1,12 @@
+package me.m0dii.m0jdi.plugin;
+
+import me.m0dii.m0jdi.annotations.Component;
+import me.m0dii.m0jdi.pluginapi.Status;
+
+@Component
+public class PluginStatus implements Status {
+    @Override
+    public String describe() {
+        return "running";
+    }
+}
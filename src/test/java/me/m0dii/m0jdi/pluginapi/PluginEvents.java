@@ -0,0 +1,10 @@
+package me.m0dii.m0jdi.pluginapi;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class PluginEvents {
+    public static final AtomicInteger CLOSED = new AtomicInteger();
+
+    private PluginEvents() {
+    }
+}
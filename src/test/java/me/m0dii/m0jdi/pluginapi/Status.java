@@ -0,0 +1,8 @@
+package me.m0dii.m0jdi.pluginapi;
+
+import me.m0dii.m0jdi.annotations.Component;
+
+@Component
+public interface Status {
+    String describe();
+}